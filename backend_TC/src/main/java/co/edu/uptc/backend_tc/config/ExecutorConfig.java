@@ -0,0 +1,75 @@
+package co.edu.uptc.backend_tc.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pools de hilos acotados para trabajos en segundo plano.
+ * Cada pool se dimensiona por propiedad para no agotar las conexiones de Hikari.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(name = "standingsRebuildExecutor")
+    public ThreadPoolTaskExecutor standingsRebuildExecutor(
+            @Value("${app.standings.rebuild-threads:4}") int threads) {
+        return boundedExecutor("standings-rebuild-", threads);
+    }
+
+    // Reparto de actualizaciones SSE (no usa conexiones de base de datos). La cola es
+    // acotada y rechaza con excepción: quien encola cierra al suscriptor en vez de esperar
+    @Bean(name = "liveUpdatesExecutor")
+    public ThreadPoolTaskExecutor liveUpdatesExecutor(
+            @Value("${app.live.dispatch-threads:2}") int threads,
+            @Value("${app.live.queue-capacity:1000}") int queueCapacity) {
+        return boundedExecutor("live-updates-", threads, queueCapacity);
+    }
+
+    // Cadenas del optimizador de fixtures (solo CPU, sin conexiones de base de datos)
+    @Bean(name = "fixtureOptimizerExecutor")
+    public ThreadPoolTaskExecutor fixtureOptimizerExecutor(
+            @Value("${app.fixtures.optimizer-threads:2}") int threads) {
+        return boundedExecutor("fixture-optimizer-", threads);
+    }
+
+    // Programación de fixtures por categoría (solo CPU, los datos se cargan antes)
+    @Bean(name = "fixtureGenerationExecutor")
+    public ThreadPoolTaskExecutor fixtureGenerationExecutor(
+            @Value("${app.fixtures.generation-threads:4}") int threads) {
+        return boundedExecutor("fixture-generation-", threads);
+    }
+
+    // Generación de reportes en segundo plano (una conexión por hilo; el pool de Hikari es chico)
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${app.reports.threads:2}") int threads) {
+        return boundedExecutor("report-", threads);
+    }
+
+    // Hojas de los libros de reportes (solo CPU y disco, los datos se cargan antes)
+    @Bean(name = "reportSheetExecutor")
+    public ThreadPoolTaskExecutor reportSheetExecutor(
+            @Value("${app.reports.sheet-threads:4}") int threads) {
+        return boundedExecutor("report-sheet-", threads);
+    }
+
+    private ThreadPoolTaskExecutor boundedExecutor(String prefix, int threads) {
+        return boundedExecutor(prefix, threads, Integer.MAX_VALUE);
+    }
+
+    private ThreadPoolTaskExecutor boundedExecutor(String prefix, int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix(prefix);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,12 @@
+package co.edu.uptc.backend_tc.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (escritura diferida de standings).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,61 @@
+package co.edu.uptc.backend_tc.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Alinea las secuencias de ids con los datos existentes al arrancar.
+ *
+ * Match, Standing, MatchEvent y BracketNode pasaron de IDENTITY a secuencias con
+ * asignación en bloques de 50; ddl-auto crea esas secuencias desde 1, así que en una
+ * base con datos previos se adelantan por encima del id máximo de cada tabla.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Secuencia -> tabla
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "match_seq", "matches",
+            "standing_seq", "standings",
+            "match_event_seq", "match_events",
+            "bracket_node_seq", "bracket_nodes"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+
+        SEQUENCES.forEach((sequence, table) -> {
+            try {
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+                Long next = jdbcTemplate.queryForObject(
+                        dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+                if (maxId != null && next != null && next <= maxId) {
+                    // El optimizador usa (valor - 49 .. valor], por eso se suma el bloque completo
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+                    log.info("🔢 Secuencia {} adelantada a {}", sequence, maxId + ALLOCATION_SIZE);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ No se pudo alinear la secuencia {}: {}", sequence, e.getMessage());
+            }
+        });
+    }
+}
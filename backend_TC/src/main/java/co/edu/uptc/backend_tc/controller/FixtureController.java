@@ -1,5 +1,8 @@
 package co.edu.uptc.backend_tc.controller;
 
+import co.edu.uptc.backend_tc.dto.response.BracketNodeResponseDTO;
+import co.edu.uptc.backend_tc.dto.response.FixturePreviewDTO;
+import co.edu.uptc.backend_tc.service.BracketService;
 import co.edu.uptc.backend_tc.service.FixtureService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,10 +24,11 @@ import java.util.Map;
 public class FixtureController {
 
     private final FixtureService fixtureService;
+    private final BracketService bracketService;
 
     @Operation(
             summary = "Generar fixture para un torneo y categoría",
-            description = "Crea los partidos según el modo seleccionado ('round_robin' o 'knockout'). Requiere rol ADMIN o SUPER_ADMIN"
+            description = "Crea los partidos según el modo seleccionado ('round_robin', 'double_round_robin', 'swiss', 'knockout', 'knockout_seeded' u 'optimized'). En modo 'swiss' solo se crea la primera ronda. Los modos de eliminación crean el cuadro completo (con byes) y los ganadores avanzan solos; 'knockout_seeded' siembra según la tabla de posiciones. En modo 'optimized' se busca el mejor horario durante timeBudgetMs milisegundos. Requiere rol ADMIN o SUPER_ADMIN"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Fixture generado exitosamente"),
@@ -33,15 +38,120 @@ public class FixtureController {
     public ResponseEntity<Map<String, Object>> generateFixture(
             @RequestParam Long tournamentId,
             @RequestParam Long categoryId,
-            @RequestParam String mode) {
+            @RequestParam String mode,
+            @RequestParam(required = false) Long timeBudgetMs) {
 
-        int matchesCreated = fixtureService.generateFixture(tournamentId, categoryId, mode);
+        int matchesCreated = fixtureService.generateFixture(tournamentId, categoryId, mode, timeBudgetMs);
         return ResponseEntity.ok(Map.of(
                 "message", "Fixture generado exitosamente",
                 "matchesCreated", matchesCreated
         ));
     }
 
+    @Operation(
+            summary = "Generar la siguiente ronda del sistema suizo",
+            description = "Empareja a los equipos según la tabla de posiciones actual, evitando revanchas. Requiere que la ronda anterior esté finalizada. Requiere rol ADMIN o SUPER_ADMIN"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ronda generada exitosamente"),
+            @ApiResponse(responseCode = "400", description = "La ronda actual no ha terminado o el sistema suizo ya se completó")
+    })
+    @PostMapping("/swiss/next-round")
+    public ResponseEntity<Map<String, Object>> generateNextSwissRound(
+            @RequestParam Long tournamentId,
+            @RequestParam Long categoryId) {
+
+        int matchesCreated = fixtureService.generateNextSwissRound(tournamentId, categoryId);
+        return ResponseEntity.ok(Map.of(
+                "message", "Ronda generada exitosamente",
+                "matchesCreated", matchesCreated
+        ));
+    }
+
+    @Operation(
+            summary = "Generar fixture para todas las categorías de un torneo",
+            description = "Programa todas las categorías en paralelo y resuelve al final los choques en escenarios compartidos; todo se guarda en una sola transacción. Requiere rol ADMIN o SUPER_ADMIN"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Fixture generado exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Modo de fixture inválido o no hay suficientes equipos")
+    })
+    @PostMapping("/generate-tournament")
+    public ResponseEntity<Map<String, Object>> generateTournamentFixture(
+            @RequestParam Long tournamentId,
+            @RequestParam String mode,
+            @RequestParam(required = false) Long timeBudgetMs) {
+
+        Map<Long, Integer> matchesByCategory = fixtureService.generateTournamentFixture(tournamentId, mode, timeBudgetMs);
+        return ResponseEntity.ok(Map.of(
+                "message", "Fixture generado exitosamente",
+                "matchesCreated", matchesByCategory.values().stream().mapToInt(Integer::intValue).sum(),
+                "matchesByCategory", matchesByCategory
+        ));
+    }
+
+    @Operation(
+            summary = "Vista previa del fixture",
+            description = "Arma el fixture en memoria sin modificar el actual y devuelve los partidos con métricas de calidad y un token para confirmarlo. Sin categoryId se programa todo el torneo. Requiere rol ADMIN o SUPER_ADMIN"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Vista previa generada"),
+            @ApiResponse(responseCode = "400", description = "Modo de fixture inválido o no hay suficientes equipos")
+    })
+    @PostMapping("/preview")
+    public ResponseEntity<FixturePreviewDTO> previewFixture(
+            @RequestParam Long tournamentId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam String mode,
+            @RequestParam(required = false) Long timeBudgetMs) {
+        return ResponseEntity.ok(fixtureService.previewFixture(tournamentId, categoryId, mode, timeBudgetMs));
+    }
+
+    @Operation(
+            summary = "Consultar una vista previa del fixture",
+            description = "Devuelve la vista previa asociada al token mientras no haya vencido"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Vista previa encontrada"),
+            @ApiResponse(responseCode = "404", description = "Token inexistente o vencido")
+    })
+    @GetMapping("/preview/{token}")
+    public ResponseEntity<FixturePreviewDTO> getPreview(@PathVariable String token) {
+        return ResponseEntity.ok(fixtureService.getPreview(token));
+    }
+
+    @Operation(
+            summary = "Confirmar una vista previa del fixture",
+            description = "Reemplaza el fixture de las categorías de la vista previa por los partidos generados, en una sola inserción. El token solo puede usarse una vez. Requiere rol ADMIN o SUPER_ADMIN"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Fixture guardado exitosamente"),
+            @ApiResponse(responseCode = "404", description = "Token inexistente o vencido")
+    })
+    @PostMapping("/preview/{token}/commit")
+    public ResponseEntity<Map<String, Object>> commitPreview(@PathVariable String token) {
+        Map<Long, Integer> matchesByCategory = fixtureService.commitPreview(token);
+        return ResponseEntity.ok(Map.of(
+                "message", "Fixture generado exitosamente",
+                "matchesCreated", matchesByCategory.values().stream().mapToInt(Integer::intValue).sum(),
+                "matchesByCategory", matchesByCategory
+        ));
+    }
+
+    @Operation(
+            summary = "Cuadro de eliminación directa",
+            description = "Devuelve todas las llaves del cuadro por ronda, con equipos, ganador y partido de cada una"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cuadro obtenido exitosamente")
+    })
+    @GetMapping("/bracket")
+    public ResponseEntity<List<BracketNodeResponseDTO>> getBracket(
+            @RequestParam Long tournamentId,
+            @RequestParam Long categoryId) {
+        return ResponseEntity.ok(bracketService.getBracket(tournamentId, categoryId));
+    }
+
     @Operation(
             summary = "Eliminar fixture de un torneo y categoría",
             description = "Elimina todos los partidos previamente generados. Requiere rol ADMIN o SUPER_ADMIN"
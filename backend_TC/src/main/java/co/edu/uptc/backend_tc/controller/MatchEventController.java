@@ -1,6 +1,7 @@
 package co.edu.uptc.backend_tc.controller;
 
 import co.edu.uptc.backend_tc.dto.MatchEventDTO;
+import co.edu.uptc.backend_tc.dto.response.MatchEventBatchResponseDTO;
 import co.edu.uptc.backend_tc.dto.response.MatchEventResponseDTO;
 import co.edu.uptc.backend_tc.service.MatchEventService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +50,20 @@ public class MatchEventController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEvent);
     }
 
+    @Operation(summary = "Registrar varios eventos de un partido en orden",
+            description = "Valida todos los jugadores contra los rosters y registra el lote completo o nada. " +
+                    "Los eventos con una idempotencyKey ya registrada no se duplican. Requiere rol REFEREE, ADMIN o SUPER_ADMIN")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote procesado; incluye los eventos creados y los repetidos"),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos o algún jugador no pertenece al partido"),
+            @ApiResponse(responseCode = "404", description = "Partido no encontrado")
+    })
+    @PostMapping("/match/{matchId}/batch")
+    public ResponseEntity<MatchEventBatchResponseDTO> createBatch(@PathVariable Long matchId,
+                                                                  @RequestBody List<@Valid MatchEventDTO> events) {
+        return ResponseEntity.ok(matchEventService.createBatch(matchId, events));
+    }
+
     @Operation(summary = "Eliminar un evento de partido", description = "Requiere rol REFEREE, ADMIN o SUPER_ADMIN")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Evento eliminado exitosamente"),
@@ -1,20 +1,26 @@
 package co.edu.uptc.backend_tc.controller;
 
+import co.edu.uptc.backend_tc.dto.response.ReportJobStatusDTO;
+import co.edu.uptc.backend_tc.model.ExportFormat;
+import co.edu.uptc.backend_tc.model.ReportType;
+import co.edu.uptc.backend_tc.service.ReportJobService;
 import co.edu.uptc.backend_tc.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -25,69 +31,128 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
 
-    @Operation(summary = "Generar reporte de tabla de posiciones en Excel", description = "Requiere rol ADMIN o SUPER_ADMIN")
+    private static final String XLSX_CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @Operation(summary = "Generar reporte de tabla de posiciones en Excel",
+            description = "Una hoja por torneo y categoría con la clasificación completa. Requiere rol ADMIN o SUPER_ADMIN")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Reporte generado exitosamente"),
         @ApiResponse(responseCode = "500", description = "Error interno al generar el archivo")
     })
     @GetMapping("/standings/excel")
-    public ResponseEntity<Resource> generateStandingsExcel(
-                
-                // --- INICIO DE CAMBIOS ---
-                
-                // 1. Cambiamos los parámetros
-                //    Quitamos: @RequestParam Long tournamentId,
-                //    Quitamos: @RequestParam Long categoryId
-                //    Añadimos:
-                @RequestParam List<Long> tournamentIds
-                
-                // --- FIN DE CAMBIOS ---
-        
-        ) {
-            try {
-                // 2. Actualizamos el nombre del archivo (ahora es genérico)
-                String filename = "reporte_consolidado_torneos.xlsx";
-
-                // 3. Llamamos al nuevo método del servicio (el que tú creaste)
-                ByteArrayInputStream in = reportService.generateStandingsExcel(tournamentIds);
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.add("Content-Disposition", "attachment; filename=" + filename);
-
-                return ResponseEntity
-                        .ok()
-                        .headers(headers)
-                        .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                        .body(new InputStreamResource(in));
-            } catch (Exception e) {
-                // Log the exception e
-                return ResponseEntity.status(500).build();
-            }
-        }
-
-    @Operation(summary = "Generar reporte de inscripciones en Excel", description = "Requiere rol ADMIN o SUPER_ADMIN")
+    public void generateStandingsExcel(@RequestParam List<Long> tournamentIds,
+                                       HttpServletResponse response) throws IOException {
+        String filename = "posiciones_torneos.xlsx";
+
+        response.setContentType(XLSX_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        reportService.writeStandingsExcel(tournamentIds, response.getOutputStream());
+    }
+
+    @Operation(summary = "Generar reporte consolidado de participantes en Excel",
+            description = "El archivo se escribe en streaming directamente en la respuesta. Requiere rol ADMIN o SUPER_ADMIN")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Reporte generado exitosamente"),
+        @ApiResponse(responseCode = "500", description = "Error interno al generar el archivo")
+    })
+    @GetMapping("/participants/excel")
+    public void generateParticipantsExcel(@RequestParam List<Long> tournamentIds,
+                                          HttpServletResponse response) throws IOException {
+        // Nombre genérico: el reporte puede incluir varios torneos
+        String filename = "reporte_consolidado_torneos.xlsx";
+
+        response.setContentType(XLSX_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        reportService.writeParticipantsExcel(tournamentIds, response.getOutputStream());
+    }
+
+    @Operation(summary = "Generar reporte de inscripciones en Excel",
+            description = "El archivo se escribe en streaming directamente en la respuesta. Requiere rol ADMIN o SUPER_ADMIN")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Reporte generado exitosamente"),
         @ApiResponse(responseCode = "500", description = "Error interno al generar el archivo")
     })
     @GetMapping("/inscriptions/excel")
-    public ResponseEntity<Resource> generateInscriptionsExcel(@RequestParam Long tournamentId) {
-        try {
-            String filename = "inscriptions_t" + tournamentId + ".xlsx";
-            ByteArrayInputStream in = reportService.generateInscriptionsExcel(tournamentId);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Disposition", "attachment; filename=" + filename);
-
-            return ResponseEntity
-                    .ok()
-                    .headers(headers)
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .body(new InputStreamResource(in));
-        } catch (Exception e) {
-            // Log the exception e
-            return ResponseEntity.status(500).build();
-        }
+    public void generateInscriptionsExcel(@RequestParam Long tournamentId,
+                                          HttpServletResponse response) throws IOException {
+        String filename = "inscriptions_t" + tournamentId + ".xlsx";
+
+        response.setContentType(XLSX_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        reportService.writeInscriptionsExcel(tournamentId, response.getOutputStream());
+    }
+
+    @Operation(summary = "Exportar participantes en CSV o NDJSON",
+            description = "Se escribe fila por fila desde la base de datos. Sin tournamentIds incluye todos los torneos")
+    @GetMapping("/participants/export")
+    public void exportParticipants(@RequestParam(required = false) List<Long> tournamentIds,
+                                   @RequestParam(defaultValue = "csv") String format,
+                                   HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=participantes." + exportFormat.getExtension());
+        reportService.exportParticipants(tournamentIds, exportFormat, response.getOutputStream());
+    }
+
+    @Operation(summary = "Exportar tablas de posiciones en CSV o NDJSON",
+            description = "Se escribe fila por fila desde la base de datos. Sin tournamentIds incluye todos los torneos")
+    @GetMapping("/standings/export")
+    public void exportStandings(@RequestParam(required = false) List<Long> tournamentIds,
+                                @RequestParam(defaultValue = "csv") String format,
+                                HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=posiciones." + exportFormat.getExtension());
+        reportService.exportStandings(tournamentIds, exportFormat, response.getOutputStream());
+    }
+
+    @Operation(summary = "Encolar el reporte de tablas de posiciones",
+            description = "Se genera en segundo plano; si los datos no cambiaron se reutiliza el archivo anterior")
+    @PostMapping("/standings/jobs")
+    public ResponseEntity<ReportJobStatusDTO> submitStandingsReport(@RequestParam List<Long> tournamentIds) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(reportJobService.submit(ReportType.STANDINGS, tournamentIds));
+    }
+
+    @Operation(summary = "Encolar el reporte consolidado de participantes",
+            description = "Se genera en segundo plano; si los datos no cambiaron se reutiliza el archivo anterior")
+    @PostMapping("/participants/jobs")
+    public ResponseEntity<ReportJobStatusDTO> submitParticipantsReport(@RequestParam List<Long> tournamentIds) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(reportJobService.submit(ReportType.PARTICIPANTS, tournamentIds));
+    }
+
+    @Operation(summary = "Encolar el reporte de inscripciones de un torneo",
+            description = "Se genera en segundo plano; si los datos no cambiaron se reutiliza el archivo anterior")
+    @PostMapping("/inscriptions/jobs")
+    public ResponseEntity<ReportJobStatusDTO> submitInscriptionsReport(@RequestParam Long tournamentId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(reportJobService.submit(ReportType.INSCRIPTIONS, List.of(tournamentId)));
+    }
+
+    @Operation(summary = "Consultar el estado de un reporte encolado")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobStatusDTO> getReportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getStatus(jobId));
+    }
+
+    @Operation(summary = "Descargar un reporte terminado")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Archivo del reporte"),
+        @ApiResponse(responseCode = "404", description = "Trabajo no encontrado"),
+        @ApiResponse(responseCode = "422", description = "El reporte aún no está listo o ya no está disponible")
+    })
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String jobId) {
+        ReportJobService.ReportFile file = reportJobService.getFile(jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(XLSX_CONTENT_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.fileName())
+                .body(new FileSystemResource(file.path()));
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,20 @@ package co.edu.uptc.backend_tc.controller;
 
 import co.edu.uptc.backend_tc.dto.StandingDTO;
 import co.edu.uptc.backend_tc.dto.response.StandingResponseDTO;
+import co.edu.uptc.backend_tc.dto.response.StandingsRebuildStatusDTO;
+import co.edu.uptc.backend_tc.service.LiveUpdateService;
 import co.edu.uptc.backend_tc.service.StandingService;
+import co.edu.uptc.backend_tc.service.StandingsRebuildService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +30,8 @@ import java.util.Map;
 public class StandingController {
 
     private final StandingService standingService;
+    private final StandingsRebuildService standingsRebuildService;
+    private final LiveUpdateService liveUpdateService;
 
     @Operation(summary = "Obtener standings por torneo y categoría")
     @GetMapping("/tournament/{tournamentId}/category/{categoryId}")
@@ -34,6 +42,17 @@ public class StandingController {
         return ResponseEntity.ok(standingService.getStandingsWithPosition(tournamentId, categoryId));
     }
 
+    @Operation(summary = "Suscribirse a resultados y eventos en vivo de un torneo y categoría",
+            description = "Server-Sent Events: cada mensaje es un delta compacto; el cliente refresca solo lo que cambió")
+    @GetMapping(value = "/tournament/{tournamentId}/category/{categoryId}/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveUpdates(
+            @PathVariable Long tournamentId,
+            @PathVariable Long categoryId
+    ) {
+        return liveUpdateService.subscribe(tournamentId, categoryId);
+    }
+
     @Operation(summary = "Recalcular standings desde los resultados de partidos")
     @PostMapping("/recalculate")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
@@ -47,4 +66,19 @@ public class StandingController {
         response.put("message", "Standings recalculados exitosamente desde los resultados de partidos");
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Recalcular standings de todos los torneos y categorías en segundo plano",
+            description = "Una partición por categoría, procesadas en paralelo. Devuelve el trabajo para consultar su progreso")
+    @PostMapping("/recalculate-all")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<StandingsRebuildStatusDTO> recalculateAll() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(standingsRebuildService.startRebuildAll());
+    }
+
+    @Operation(summary = "Consultar el progreso de una reconstrucción masiva de standings")
+    @GetMapping("/recalculate-all/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<StandingsRebuildStatusDTO> getRecalculateAllStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(standingsRebuildService.getStatus(jobId));
+    }
+}
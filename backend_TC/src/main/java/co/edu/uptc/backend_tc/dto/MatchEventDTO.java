@@ -31,6 +31,10 @@ public class MatchEventDTO {
     @Size(max = 500, message = "Description cannot exceed 500 characters")
     private String description;
 
+    // Opcional: un reintento con la misma clave devuelve el evento ya registrado
+    @Size(max = 64, message = "Idempotency key cannot exceed 64 characters")
+    private String idempotencyKey;
+
     private LocalDateTime createdAt;
 }
 
@@ -0,0 +1,32 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketNodeResponseDTO {
+    private Long id;
+    private Integer round;      // 1 = primera ronda
+    private Integer position;   // alimenta a (round + 1, position / 2)
+
+    private Integer homeSeed;
+    private Integer awaySeed;
+    private Long homeTeamId;
+    private String homeTeamName;
+    private Long awayTeamId;
+    private String awayTeamName;
+    private Long winnerTeamId;
+
+    // Partido de la llave (null mientras falte un equipo o si fue bye)
+    private Long matchId;
+    private MatchStatus matchStatus;
+    private LocalDateTime startsAt;
+}
@@ -0,0 +1,38 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixturePreviewDTO {
+    // Token para consultar o confirmar la vista previa
+    private String token;
+    private Long tournamentId;
+    private Long categoryId;    // null si es de todo el torneo
+    private String mode;
+    private LocalDateTime expiresAt;
+
+    private Integer totalMatches;
+    private Map<Long, Integer> matchesByCategory;
+
+    // Calidad del horario
+    private Integer teamConflicts;
+    private Integer scenarioConflicts;
+    private Integer restViolations;
+    private Integer outsideAvailability;
+    private Integer unscheduledMatches;   // sin horario libre en las fechas del torneo
+
+    private List<FixturePreviewMatchDTO> matches;
+
+    // Modos de eliminación: equipo de cada posición de la ronda 1 por categoría (null = bye)
+    private Map<Long, List<Long>> bracketSlots;
+}
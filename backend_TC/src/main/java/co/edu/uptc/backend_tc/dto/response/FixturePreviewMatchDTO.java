@@ -0,0 +1,28 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partido de un fixture en vista previa (aún no guardado). Solo lleva ids y nombres,
+ * suficiente para mostrarlo y para guardarlo después.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FixturePreviewMatchDTO {
+    private Long categoryId;
+    private Long homeTeamId;
+    private String homeTeamName;
+    private Long awayTeamId;
+    private String awayTeamName;
+    private Long scenarioId;
+    private String scenarioName;
+    private LocalDateTime startsAt;
+    private Integer swissRound;
+}
@@ -0,0 +1,38 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import co.edu.uptc.backend_tc.model.LiveUpdateType;
+import co.edu.uptc.backend_tc.model.MatchEventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delta compacto que se envía por SSE a los suscriptores de un torneo y categoría.
+ * Solo viajan los campos del tipo de cambio (los nulos se omiten).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveUpdateDTO {
+    private LiveUpdateType type;
+    private Long tournamentId;
+    private Long categoryId;
+    private Long matchId;
+
+    // Resultado
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Integer homeScore;
+    private Integer awayScore;
+
+    // Evento del partido
+    private Long eventId;
+    private MatchEventType eventType;
+    private Long playerId;
+    private Integer minute;
+
+    private LocalDateTime occurredAt;
+}
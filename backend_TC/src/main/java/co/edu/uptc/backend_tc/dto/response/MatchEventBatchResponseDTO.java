@@ -0,0 +1,24 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import co.edu.uptc.backend_tc.dto.MatchEventDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchEventBatchResponseDTO {
+    private Long matchId;
+
+    // Eventos insertados en esta llamada y los que ya existían por su clave de idempotencia
+    private Integer created;
+    private Integer duplicates;
+
+    // Un evento por cada elemento enviado, en el mismo orden
+    private List<MatchEventDTO> events;
+}
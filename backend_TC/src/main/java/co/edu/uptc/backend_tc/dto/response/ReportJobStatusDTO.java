@@ -0,0 +1,30 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import co.edu.uptc.backend_tc.model.JobStatus;
+import co.edu.uptc.backend_tc.model.ReportType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobStatusDTO {
+    private String jobId;
+    private ReportType type;
+    private List<Long> tournamentIds;
+    private JobStatus status;
+
+    // true si el archivo ya estaba generado y no se recalculó
+    private Boolean fromCache;
+    private String fileName;
+    private String error;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,30 @@
+package co.edu.uptc.backend_tc.dto.response;
+
+import co.edu.uptc.backend_tc.model.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingsRebuildStatusDTO {
+    private String jobId;
+    private JobStatus status;
+
+    // Progreso: una partición por (torneo, categoría)
+    private Integer totalPartitions;
+    private Integer completedPartitions;
+    private Integer failedPartitions;
+
+    // Particiones con error, en formato "torneo/categoría"
+    private List<String> failures;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
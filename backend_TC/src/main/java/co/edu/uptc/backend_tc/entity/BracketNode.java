@@ -0,0 +1,77 @@
+package co.edu.uptc.backend_tc.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Llave de un cuadro de eliminación directa. La ronda 1 es la primera; la llave
+ * (round, position) alimenta a (round + 1, position / 2), como local si position es par.
+ * Los equipos se llenan a medida que avanzan los ganadores y el partido se crea cuando
+ * ambos están definidos.
+ */
+@Entity
+@Table(name = "bracket_nodes",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_bracket_node", columnNames = {"tournament_id", "category_id", "round", "position"})
+        },
+        indexes = {
+                @Index(name = "idx_bracket_match", columnList = "match_id")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"tournament", "category", "homeTeam", "awayTeam", "winner", "match"})
+@EqualsAndHashCode(exclude = {"tournament", "category", "homeTeam", "awayTeam", "winner", "match"})
+public class BracketNode implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bracket_node_seq")
+    @SequenceGenerator(name = "bracket_node_seq", sequenceName = "bracket_node_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull(message = "Tournament is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    private Tournament tournament;
+
+    @NotNull(message = "Category is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(nullable = false)
+    private Integer round;
+
+    @Column(nullable = false)
+    private Integer position;
+
+    // Siembra de cada lado en la ronda 1 (null en rondas siguientes o si es bye)
+    @Column(name = "home_seed")
+    private Integer homeSeed;
+
+    @Column(name = "away_seed")
+    private Integer awaySeed;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "home_team_id")
+    private Team homeTeam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "away_team_id")
+    private Team awayTeam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_id")
+    private Team winner;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "match_id", unique = true)
+    private Match match;
+}
@@ -1,5 +1,6 @@
 package co.edu.uptc.backend_tc.entity;
 
+import co.edu.uptc.backend_tc.entity.listener.ReportCacheEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -9,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReportCacheEntityListener.class)
 @Table(name = "categories", indexes = {
         @Index(name = "idx_category_sport", columnList = "sport_id"),
         @Index(name = "idx_category_name", columnList = "name")
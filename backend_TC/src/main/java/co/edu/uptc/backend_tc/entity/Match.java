@@ -29,8 +29,10 @@ public class Match implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // Secuencia con asignación en bloques para que los inserts masivos se agrupen en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_seq")
+    @SequenceGenerator(name = "match_seq", sequenceName = "match_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Tournament is required")
@@ -50,6 +52,10 @@ public class Match implements Serializable {
     @Column(name = "starts_at")
     private LocalDateTime startsAt;
 
+    // Ronda del sistema suizo a la que pertenece (null en los demás modos)
+    @Column(name = "swiss_round")
+    private Integer swissRound;
+
     @NotNull(message = "Home team is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "home_team_id", nullable = false)
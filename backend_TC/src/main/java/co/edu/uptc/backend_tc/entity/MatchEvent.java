@@ -9,12 +9,17 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "match_events", indexes = {
-        @Index(name = "idx_event_match", columnList = "match_id"),
-        @Index(name = "idx_event_player", columnList = "player_id"),
-        @Index(name = "idx_event_type", columnList = "type"),
-        @Index(name = "idx_event_created", columnList = "created_at")
-})
+@Table(name = "match_events",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_match_event_idempotency", columnNames = {"match_id", "idempotency_key"})
+        },
+        indexes = {
+                @Index(name = "idx_event_match", columnList = "match_id"),
+                @Index(name = "idx_event_player", columnList = "player_id"),
+                @Index(name = "idx_event_type", columnList = "type"),
+                @Index(name = "idx_event_created", columnList = "created_at")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +31,8 @@ public class MatchEvent implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_event_seq")
+    @SequenceGenerator(name = "match_event_seq", sequenceName = "match_event_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Match is required")
@@ -53,6 +59,11 @@ public class MatchEvent implements Serializable {
     @Column(length = 500)
     private String description;
 
+    // Clave que envía el dispositivo para que un reintento no duplique el evento
+    @Size(max = 64, message = "Idempotency key cannot exceed 64 characters")
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
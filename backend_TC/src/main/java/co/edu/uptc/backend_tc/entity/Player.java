@@ -1,5 +1,6 @@
 package co.edu.uptc.backend_tc.entity;
 
+import co.edu.uptc.backend_tc.entity.listener.ReportCacheEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -10,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReportCacheEntityListener.class)
 @Table(name = "players", indexes = {
         @Index(name = "idx_player_document", columnList = "document_number"),
         @Index(name = "idx_player_email", columnList = "institutional_email"),
@@ -29,7 +29,8 @@ public class Standing implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "standing_seq")
+    @SequenceGenerator(name = "standing_seq", sequenceName = "standing_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Tournament is required")
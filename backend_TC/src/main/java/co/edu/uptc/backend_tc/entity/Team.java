@@ -1,5 +1,6 @@
 package co.edu.uptc.backend_tc.entity;
 
+import co.edu.uptc.backend_tc.entity.listener.ReportCacheEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReportCacheEntityListener.class)
 @Table(name = "teams", indexes = {
         @Index(name = "idx_team_tournament", columnList = "tournament_id"),
         @Index(name = "idx_team_category", columnList = "category_id"),
@@ -39,6 +41,10 @@ public class Team implements Serializable {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Disponibilidad semanal en franjas de 15 minutos (ver WeeklySlotBitmap)
+    @Column(name = "availability_slots", length = 84)
+    private byte[] availabilitySlots;
+
     @NotNull(message = "Tournament is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tournament_id", nullable = false)
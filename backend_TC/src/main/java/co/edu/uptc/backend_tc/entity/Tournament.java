@@ -1,6 +1,7 @@
 package co.edu.uptc.backend_tc.entity;
 
 import co.edu.uptc.backend_tc.model.Modality;
+import co.edu.uptc.backend_tc.entity.listener.ReportCacheEntityListener;
 import co.edu.uptc.backend_tc.model.TournamentStatus;
 import co.edu.uptc.backend_tc.validation.OnCreate;
 import co.edu.uptc.backend_tc.validation.OnUpdate;
@@ -16,6 +17,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReportCacheEntityListener.class)
 @Table(name = "tournaments", indexes = {
         @Index(name = "idx_tournament_dates", columnList = "start_date,end_date"),
         @Index(name = "idx_tournament_status", columnList = "status"),
@@ -0,0 +1,31 @@
+package co.edu.uptc.backend_tc.entity.listener;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avisa que cambiaron datos que aparecen en los reportes pero que la versión calculada
+ * desde las inscripciones o los standings no ve (nombres de torneo, categoría y equipo,
+ * datos del jugador).
+ *
+ * Solo publica un {@link ReportDataChangedEvent}; la caché de reportes lo atiende al
+ * confirmar la transacción, para que un reporte que se genere en ese instante no quede
+ * guardado con los datos anteriores bajo la generación nueva.
+ */
+@Component
+public class ReportCacheEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReportCacheEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        eventPublisher.publishEvent(new ReportDataChangedEvent(entity.getClass().getSimpleName()));
+    }
+}
@@ -0,0 +1,7 @@
+package co.edu.uptc.backend_tc.entity.listener;
+
+/**
+ * Cambió una entidad cuyos datos aparecen en los reportes generados.
+ */
+public record ReportDataChangedEvent(String entityName) {
+}
@@ -10,6 +10,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -203,6 +204,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(apiError);
     }
 
+    // ========== Validation on @RequestBody list elements ==========
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiError> handleMethodValidation(
+            HandlerMethodValidationException ex,
+            HttpServletRequest request) {
+
+        List<FieldValidationError> fieldErrors = ex.getParameterValidationResults()
+                .stream()
+                .flatMap(result -> result.getResolvableErrors().stream().map(error -> {
+                    String prefix = result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]" : "";
+                    return error instanceof FieldError fe
+                            ? FieldValidationError.builder()
+                                .field(prefix.isEmpty() ? fe.getField() : prefix + "." + fe.getField())
+                                .rejectedValue(fe.getRejectedValue())
+                                .message(fe.getDefaultMessage())
+                                .code(fe.getCode())
+                                .build()
+                            : FieldValidationError.builder()
+                                .field(result.getMethodParameter().getParameterName() + prefix)
+                                .rejectedValue(result.getArgument())
+                                .message(error.getDefaultMessage())
+                                .build();
+                }))
+                .collect(Collectors.toList());
+
+        log.warn("Validation failed: {} errors at {}", fieldErrors.size(), request.getRequestURI());
+
+        ApiError apiError = ApiError.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Validation Failed")
+                .message("One or more fields have validation errors")
+                .path(request.getRequestURI())
+                .fieldErrors(fieldErrors)
+                .build();
+
+        return ResponseEntity.badRequest().body(apiError);
+    }
+
     // ========== Type Mismatch (ej: String cuando espera Long) ==========
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ApiError> handleTypeMismatch(
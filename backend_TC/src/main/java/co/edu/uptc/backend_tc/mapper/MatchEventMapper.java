@@ -27,6 +27,7 @@ public class MatchEventMapper {
                 .type(entity.getType())
                 .minute(entity.getMinute())
                 .description(entity.getDescription())
+                .idempotencyKey(entity.getIdempotencyKey())
                 .createdAt(entity.getCreatedAt())
                 .build();
     }
@@ -41,6 +42,7 @@ public class MatchEventMapper {
                 .type(dto.getType())
                 .minute(dto.getMinute())
                 .description(dto.getDescription())
+                .idempotencyKey(dto.getIdempotencyKey())
                 .build();
     }
 
@@ -3,6 +3,7 @@ package co.edu.uptc.backend_tc.mapper;
 import co.edu.uptc.backend_tc.dto.StandingDTO;
 import co.edu.uptc.backend_tc.dto.response.StandingResponseDTO;
 import co.edu.uptc.backend_tc.entity.Standing;
+import co.edu.uptc.backend_tc.service.StandingsTable;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -61,4 +62,49 @@ public class StandingMapper {
                 .form(form)
                 .build();
     }
-}
\ No newline at end of file
+
+    public StandingDTO toDTO(StandingsTable.Row row, Long tournamentId, Long categoryId) {
+        if (row == null) return null;
+
+        return StandingDTO.builder()
+                .id(row.getStandingId())
+                .teamName(row.getTeamName())
+                .tournamentId(tournamentId)
+                .categoryId(categoryId)
+                .teamId(row.getTeamId())
+                .points(row.getPoints())
+                .played(row.getPlayed())
+                .matchesPlayed(row.getPlayed())
+                .wins(row.getWins())
+                .draws(row.getDraws())
+                .losses(row.getLosses())
+                .goalsFor(row.getGoalsFor())
+                .goalsAgainst(row.getGoalsAgainst())
+                .goalDifference(row.getGoalDifference())
+                .build();
+    }
+
+    /**
+     * Variante para filas de la tabla en memoria (el equipo ya viene resuelto).
+     */
+    public StandingResponseDTO toResponseDTO(StandingsTable.Row row, Integer position, String form) {
+        if (row == null) return null;
+
+        return StandingResponseDTO.builder()
+                .id(row.getStandingId())
+                .position(position != null ? position : 0)
+                .teamName(row.getTeamName() != null ? row.getTeamName() : "Equipo Desconocido")
+                .team(row.getTeam())
+                .points(row.getPoints())
+                .played(row.getPlayed())
+                .matchesPlayed(row.getPlayed())
+                .wins(row.getWins())
+                .draws(row.getDraws())
+                .losses(row.getLosses())
+                .goalsFor(row.getGoalsFor())
+                .goalsAgainst(row.getGoalsAgainst())
+                .goalDifference(row.getGoalDifference())
+                .form(form)
+                .build();
+    }
+}
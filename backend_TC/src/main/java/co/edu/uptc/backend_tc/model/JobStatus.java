@@ -0,0 +1,8 @@
+package co.edu.uptc.backend_tc.model;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package co.edu.uptc.backend_tc.model;
+
+public enum LiveUpdateType {
+    RESULT_REGISTERED,
+    RESULT_UPDATED,
+    RESULT_DELETED,
+    MATCH_EVENT
+}
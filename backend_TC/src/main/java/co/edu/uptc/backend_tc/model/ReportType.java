@@ -0,0 +1,7 @@
+package co.edu.uptc.backend_tc.model;
+
+public enum ReportType {
+    STANDINGS,
+    PARTICIPANTS,
+    INSCRIPTIONS
+}
@@ -0,0 +1,39 @@
+package co.edu.uptc.backend_tc.repository;
+
+import co.edu.uptc.backend_tc.entity.BracketNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BracketNodeRepository extends JpaRepository<BracketNode, Long> {
+
+    Optional<BracketNode> findByMatchId(Long matchId);
+
+    Optional<BracketNode> findByTournamentIdAndCategoryIdAndRoundAndPosition(
+            Long tournamentId, Long categoryId, Integer round, Integer position);
+
+    // Cuadro completo con equipos y partidos (una sola consulta)
+    @Query("SELECT n FROM BracketNode n " +
+            "LEFT JOIN FETCH n.homeTeam " +
+            "LEFT JOIN FETCH n.awayTeam " +
+            "LEFT JOIN FETCH n.winner " +
+            "LEFT JOIN FETCH n.match " +
+            "WHERE n.tournament.id = :tournamentId AND n.category.id = :categoryId " +
+            "ORDER BY n.round, n.position")
+    List<BracketNode> findBracket(@Param("tournamentId") Long tournamentId, @Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM BracketNode n WHERE n.tournament.id = :tournamentId AND n.category.id = :categoryId")
+    int deleteByTournamentIdAndCategoryId(@Param("tournamentId") Long tournamentId, @Param("categoryId") Long categoryId);
+
+    // Desvincula el partido antes de borrarlo suelto
+    @Modifying
+    @Query("UPDATE BracketNode n SET n.match = NULL WHERE n.match.id = :matchId")
+    int clearMatch(@Param("matchId") Long matchId);
+}
@@ -2,14 +2,19 @@ package co.edu.uptc.backend_tc.repository;
 
 import co.edu.uptc.backend_tc.entity.Inscription;
 import co.edu.uptc.backend_tc.model.InscriptionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface InscriptionRepository extends JpaRepository<Inscription, Long>,
@@ -54,6 +59,40 @@ public interface InscriptionRepository extends JpaRepository<Inscription, Long>,
             "WHERE i.id = :inscriptionId")
     Inscription findByIdWithPlayers(@Param("inscriptionId") Long inscriptionId);
 
+    // Reporte de participantes: filas planas en una sola consulta, leídas por bloques.
+    // Debe consumirse dentro de una transacción y cerrarse (try-with-resources).
+    String PARTICIPANT_ROWS = "SELECT t.id AS tournamentId, t.name AS tournamentName, i.teamName AS teamName, " +
+            "p.fullName AS fullName, p.studentCode AS studentCode, " +
+            "p.documentNumber AS documentNumber, p.institutionalEmail AS institutionalEmail " +
+            "FROM InscriptionPlayer ip " +
+            "JOIN ip.inscription i " +
+            "JOIN i.tournament t " +
+            "JOIN ip.player p ";
+    String PARTICIPANT_ROWS_ORDER = "ORDER BY t.id, i.id, ip.id";
+
+    @Query(PARTICIPANT_ROWS + "WHERE t.id IN :tournamentIds " + PARTICIPANT_ROWS_ORDER)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ParticipantReportRow> streamParticipantRows(@Param("tournamentIds") Collection<Long> tournamentIds);
+
+    // Todos los torneos del sistema
+    @Query(PARTICIPANT_ROWS + PARTICIPANT_ROWS_ORDER)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ParticipantReportRow> streamAllParticipantRows();
+
+    // Versión de los datos del reporte: cambia al agregar, quitar o reemplazar jugadores
+    // inscritos y al modificar una inscripción
+    @Query("SELECT COUNT(ip), COALESCE(SUM(ip.id), 0), MAX(i.updatedAt) " +
+            "FROM InscriptionPlayer ip " +
+            "JOIN ip.inscription i " +
+            "WHERE i.tournament.id IN :tournamentIds")
+    List<Object[]> findParticipantReportVersion(@Param("tournamentIds") Collection<Long> tournamentIds);
+
     // CORREGIDO: Usar @Query explícito para buscar por institutionalEmail del delegado
     @Query("SELECT i FROM Inscription i JOIN i.delegate d WHERE d.institutionalEmail = :email")
     List<Inscription> findByDelegateEmail(@Param("email") String email);
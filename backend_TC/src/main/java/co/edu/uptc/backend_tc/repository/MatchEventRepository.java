@@ -7,7 +7,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MatchEventRepository extends JpaRepository<MatchEvent, Long> {
@@ -16,6 +18,22 @@ public interface MatchEventRepository extends JpaRepository<MatchEvent, Long> {
     List<MatchEvent> findByMatchId(Long matchId);
     List<MatchEvent> findByMatchIdOrderByMinuteAsc(Long matchId);
 
+    // Línea de tiempo del partido: cada evento con su jugador y el id del equipo del partido
+    // en cuyo roster está ese jugador (null si no está en ninguno)
+    // {MatchEvent, teamId}
+    @Query("SELECT me, tr.team.id FROM MatchEvent me " +
+            "JOIN FETCH me.player p " +
+            "JOIN me.match m " +
+            "LEFT JOIN TeamRoster tr ON tr.player = p " +
+            "AND (tr.team = m.homeTeam OR tr.team = m.awayTeam) " +
+            "WHERE m.id = :matchId " +
+            "ORDER BY me.minute ASC, me.id ASC")
+    List<Object[]> findTimelineByMatchId(@Param("matchId") Long matchId);
+
+    // Idempotencia: eventos ya registrados con alguna de las claves
+    Optional<MatchEvent> findByMatchIdAndIdempotencyKey(Long matchId, String idempotencyKey);
+    List<MatchEvent> findByMatchIdAndIdempotencyKeyIn(Long matchId, Collection<String> idempotencyKeys);
+
     // Por jugador
     List<MatchEvent> findByPlayerId(Long playerId);
 
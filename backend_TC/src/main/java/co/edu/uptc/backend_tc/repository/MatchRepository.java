@@ -6,12 +6,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long>,
@@ -74,6 +76,31 @@ public interface MatchRepository extends JpaRepository<Match, Long>,
 
     long countByScenarioId(Long scenarioId);
 
+    // Pares (torneo, categoría) con partidos
+    @Query("SELECT DISTINCT m.tournament.id, m.category.id FROM Match m")
+    List<Object[]> findDistinctTournamentAndCategoryIds();
+
+    // Ocupación de equipos y escenarios en un rango, como filas planas
+    // {homeTeamId, awayTeamId, scenarioId, startsAt, tournamentId, categoryId} (generación de fixture)
+    @Query("SELECT m.homeTeam.id, m.awayTeam.id, s.id, m.startsAt, m.tournament.id, m.category.id FROM Match m " +
+            "LEFT JOIN m.scenario s " +
+            "WHERE m.startsAt >= :from AND m.startsAt < :to " +
+            "AND m.status <> :excludedStatus")
+    List<Object[]> findScheduleBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("excludedStatus") MatchStatus excludedStatus
+    );
+
+    // Partido con sus equipos y clubes (para armar los resúmenes de equipo sin más consultas)
+    @Query("SELECT m FROM Match m " +
+            "LEFT JOIN FETCH m.homeTeam ht " +
+            "LEFT JOIN FETCH ht.club " +
+            "LEFT JOIN FETCH m.awayTeam at " +
+            "LEFT JOIN FETCH at.club " +
+            "WHERE m.id = :matchId")
+    Optional<Match> findByIdWithTeams(@Param("matchId") Long matchId);
+
     @Query("""
         SELECT m FROM Match m
         LEFT JOIN FETCH m.tournament
@@ -85,4 +112,29 @@ public interface MatchRepository extends JpaRepository<Match, Long>,
         LEFT JOIN FETCH m.result
     """)
     List<Match> findAllWithRelations();
+
+    // Borrado masivo del fixture de una categoría: eventos, resultados, sanciones
+    // (se desvinculan) y partidos, una sentencia por tabla sin cargar entidades
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM MatchEvent e WHERE e.match.id IN " +
+            "(SELECT m.id FROM Match m WHERE m.tournament.id = :tournamentId AND m.category.id = :categoryId)")
+    int deleteEventsByTournamentIdAndCategoryId(@Param("tournamentId") Long tournamentId,
+                                                @Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM MatchResult r WHERE r.matchId IN " +
+            "(SELECT m.id FROM Match m WHERE m.tournament.id = :tournamentId AND m.category.id = :categoryId)")
+    int deleteResultsByTournamentIdAndCategoryId(@Param("tournamentId") Long tournamentId,
+                                                 @Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Sanction s SET s.match = NULL WHERE s.match.id IN " +
+            "(SELECT m.id FROM Match m WHERE m.tournament.id = :tournamentId AND m.category.id = :categoryId)")
+    int detachSanctionsByTournamentIdAndCategoryId(@Param("tournamentId") Long tournamentId,
+                                                   @Param("categoryId") Long categoryId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Match m WHERE m.tournament.id = :tournamentId AND m.category.id = :categoryId")
+    int deleteByTournamentIdAndCategoryId(@Param("tournamentId") Long tournamentId,
+                                          @Param("categoryId") Long categoryId);
 }
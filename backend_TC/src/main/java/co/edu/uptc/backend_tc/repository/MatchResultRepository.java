@@ -1,12 +1,18 @@
 package co.edu.uptc.backend_tc.repository;
 
 import co.edu.uptc.backend_tc.entity.MatchResult;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface MatchResultRepository extends JpaRepository<MatchResult, Long> {
@@ -24,4 +30,48 @@ public interface MatchResultRepository extends JpaRepository<MatchResult, Long>
             @Param("tournamentId") Long tournamentId,
             @Param("categoryId") Long categoryId
     );
-}
\ No newline at end of file
+
+    // Resultados de una categoría con partido y equipos en una sola consulta (recalcular standings)
+    @Query("SELECT mr FROM MatchResult mr " +
+            "JOIN FETCH mr.match m " +
+            "JOIN FETCH m.homeTeam ht " +
+            "LEFT JOIN FETCH ht.club " +
+            "JOIN FETCH m.awayTeam at " +
+            "LEFT JOIN FETCH at.club " +
+            "WHERE m.tournament.id = :tournamentId " +
+            "AND m.category.id = :categoryId " +
+            "AND m.status = :status")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<MatchResult> streamByTournamentIdAndCategoryIdAndStatus(
+            @Param("tournamentId") Long tournamentId,
+            @Param("categoryId") Long categoryId,
+            @Param("status") MatchStatus status
+    );
+
+    // Marcadores de la categoría como filas planas
+    // {homeTeamId, awayTeamId, homeScore, awayScore, matchId, startsAt}
+    @Query("SELECT m.homeTeam.id, m.awayTeam.id, mr.homeScore, mr.awayScore, m.id, m.startsAt " +
+            "FROM MatchResult mr " +
+            "JOIN mr.match m " +
+            "WHERE m.tournament.id = :tournamentId " +
+            "AND m.category.id = :categoryId " +
+            "AND m.status = :status")
+    List<Object[]> findScoresByTournamentIdAndCategoryIdAndStatus(
+            @Param("tournamentId") Long tournamentId,
+            @Param("categoryId") Long categoryId,
+            @Param("status") MatchStatus status
+    );
+
+    // Marcadores de varios torneos a la vez, para reportes
+    // {tournamentId, categoryId, homeTeamId, awayTeamId, homeScore, awayScore, matchId, startsAt}
+    @Query("SELECT m.tournament.id, m.category.id, m.homeTeam.id, m.awayTeam.id, " +
+            "mr.homeScore, mr.awayScore, m.id, m.startsAt " +
+            "FROM MatchResult mr " +
+            "JOIN mr.match m " +
+            "WHERE m.tournament.id IN :tournamentIds " +
+            "AND m.status = :status")
+    List<Object[]> findScoresByTournamentIdsAndStatus(
+            @Param("tournamentIds") Collection<Long> tournamentIds,
+            @Param("status") MatchStatus status
+    );
+}
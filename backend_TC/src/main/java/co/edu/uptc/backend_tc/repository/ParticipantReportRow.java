@@ -0,0 +1,22 @@
+package co.edu.uptc.backend_tc.repository;
+
+/**
+ * Fila plana del reporte de participantes: un jugador inscrito con su torneo y equipo.
+ * Proyección por interfaz, así que Hibernate no instancia entidades.
+ */
+public interface ParticipantReportRow {
+
+    Long getTournamentId();
+
+    String getTournamentName();
+
+    String getTeamName();
+
+    String getFullName();
+
+    String getStudentCode();
+
+    String getDocumentNumber();
+
+    String getInstitutionalEmail();
+}
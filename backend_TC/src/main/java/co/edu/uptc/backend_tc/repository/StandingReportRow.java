@@ -0,0 +1,33 @@
+package co.edu.uptc.backend_tc.repository;
+
+/**
+ * Fila plana de la exportación de standings: un equipo en la tabla de su categoría.
+ */
+public interface StandingReportRow {
+
+    Long getTournamentId();
+
+    String getTournamentName();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    Long getTeamId();
+
+    String getTeamName();
+
+    Integer getPlayed();
+
+    Integer getWins();
+
+    Integer getDraws();
+
+    Integer getLosses();
+
+    Integer getGoalsFor();
+
+    Integer getGoalsAgainst();
+
+    Integer getPoints();
+}
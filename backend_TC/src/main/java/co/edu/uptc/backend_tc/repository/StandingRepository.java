@@ -1,13 +1,19 @@
 package co.edu.uptc.backend_tc.repository;
 
 import co.edu.uptc.backend_tc.entity.Standing;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StandingRepository extends JpaRepository<Standing, Long> {
@@ -25,6 +31,41 @@ public interface StandingRepository extends JpaRepository<Standing, Long> {
             @Param("categoryId") Long categoryId
     );
 
+    // Exportación: filas planas leídas por bloques, en el orden base de la tabla
+    // (sin desempates por enfrentamiento directo)
+    String STANDING_ROWS = "SELECT t.id AS tournamentId, t.name AS tournamentName, " +
+            "c.id AS categoryId, c.name AS categoryName, tm.id AS teamId, tm.name AS teamName, " +
+            "s.played AS played, s.wins AS wins, s.draws AS draws, s.losses AS losses, " +
+            "s.goalsFor AS goalsFor, s.goalsAgainst AS goalsAgainst, s.points AS points " +
+            "FROM Standing s " +
+            "JOIN s.tournament t " +
+            "JOIN s.category c " +
+            "JOIN s.team tm ";
+    String STANDING_ROWS_ORDER = "ORDER BY t.id, c.id, s.points DESC, " +
+            "(s.goalsFor - s.goalsAgainst) DESC, s.goalsFor DESC, tm.id";
+
+    @Query(STANDING_ROWS + "WHERE t.id IN :tournamentIds " + STANDING_ROWS_ORDER)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<StandingReportRow> streamStandingRows(@Param("tournamentIds") Collection<Long> tournamentIds);
+
+    @Query(STANDING_ROWS + STANDING_ROWS_ORDER)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<StandingReportRow> streamAllStandingRows();
+
+    // Versión de las tablas de los torneos para la caché de reportes: las sumas ponderadas
+    // por id cambian aunque un resultado corregido solo mueva puntos o goles entre equipos
+    @Query("SELECT COUNT(s), COALESCE(SUM(s.played), 0), COALESCE(SUM(s.id * (s.points + 1)), 0), " +
+            "COALESCE(SUM(s.id * (s.goalsFor + 1)), 0), COALESCE(SUM(s.id * (s.goalsAgainst + 1)), 0) " +
+            "FROM Standing s " +
+            "WHERE s.tournament.id IN :tournamentIds")
+    List<Object[]> findReportVersion(@Param("tournamentIds") Collection<Long> tournamentIds);
+
     // Buscar standing específico
     @Query("SELECT s FROM Standing s " +
             "WHERE s.tournament.id = :tournamentId " +
@@ -38,4 +79,44 @@ public interface StandingRepository extends JpaRepository<Standing, Long> {
 
     // Eliminar por torneo y categoría (para recalcular)
     void deleteByTournamentIdAndCategoryId(Long tournamentId, Long categoryId);
+
+    // Pares (torneo, categoría) con standings persistidos
+    @Query("SELECT DISTINCT s.tournament.id, s.category.id FROM Standing s")
+    List<Object[]> findDistinctTournamentAndCategoryIds();
+
+    // Eliminación en bloque (una sola sentencia, sin cargar las entidades)
+    @Modifying
+    @Query("DELETE FROM Standing s " +
+            "WHERE s.tournament.id = :tournamentId " +
+            "AND s.category.id = :categoryId")
+    int bulkDeleteByTournamentIdAndCategoryId(
+            @Param("tournamentId") Long tournamentId,
+            @Param("categoryId") Long categoryId
+    );
+
+    // Incremento atómico sobre la fila de uk_standing (sin leer la fila antes, sin bloqueos)
+    @Modifying
+    @Query("UPDATE Standing s SET " +
+            "s.points = s.points + :points, " +
+            "s.played = s.played + :played, " +
+            "s.wins = s.wins + :wins, " +
+            "s.draws = s.draws + :draws, " +
+            "s.losses = s.losses + :losses, " +
+            "s.goalsFor = s.goalsFor + :goalsFor, " +
+            "s.goalsAgainst = s.goalsAgainst + :goalsAgainst " +
+            "WHERE s.tournament.id = :tournamentId " +
+            "AND s.category.id = :categoryId " +
+            "AND s.team.id = :teamId")
+    int applyDelta(
+            @Param("tournamentId") Long tournamentId,
+            @Param("categoryId") Long categoryId,
+            @Param("teamId") Long teamId,
+            @Param("points") int points,
+            @Param("played") int played,
+            @Param("wins") int wins,
+            @Param("draws") int draws,
+            @Param("losses") int losses,
+            @Param("goalsFor") int goalsFor,
+            @Param("goalsAgainst") int goalsAgainst
+    );
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +17,9 @@ public interface TeamAvailabilityRepository extends JpaRepository<TeamAvailabili
     List<TeamAvailability> findByTeamId(Long teamId);
     List<TeamAvailability> findByTeamIdAndAvailableTrue(Long teamId);
 
+    // Disponibilidad de varios equipos en una sola consulta (generación de fixture)
+    List<TeamAvailability> findByTeamIdInAndAvailableTrue(Collection<Long> teamIds);
+
     // Por día
     List<TeamAvailability> findByTeamIdAndDayOfWeek(Long teamId, DayOfWeek dayOfWeek);
     // 🔹 Buscar las franjas que pertenecen a una inscripción pendiente
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,11 @@ public interface TeamRosterRepository extends JpaRepository<TeamRoster, Long> {
             "WHERE tr.team.id = :teamId")
     List<TeamRoster> findByTeamIdWithPlayer(@Param("teamId") Long teamId);
 
+    // Pares {playerId, teamId} de los rosters de varios equipos, como filas planas
+    @Query("SELECT tr.player.id, tr.team.id FROM TeamRoster tr " +
+            "WHERE tr.team.id IN :teamIds")
+    List<Object[]> findPlayerTeamPairsByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
     // Por jugador
     List<TeamRoster> findByPlayerId(Long playerId);
 
@@ -0,0 +1,323 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.BracketNodeResponseDTO;
+import co.edu.uptc.backend_tc.dto.response.StandingResponseDTO;
+import co.edu.uptc.backend_tc.entity.*;
+import co.edu.uptc.backend_tc.exception.BusinessException;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.repository.BracketNodeRepository;
+import co.edu.uptc.backend_tc.repository.MatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cuadros de eliminación directa.
+ *
+ * El cuadro completo se crea de una vez con tamaño igual a la siguiente potencia de 2;
+ * los huecos son byes y sus equipos pasan directo a la ronda 2. Con siembra, los mejores
+ * de la tabla de posiciones quedan en extremos opuestos del cuadro (1 contra el último,
+ * y 1 y 2 solo pueden cruzarse en la final). Cuando se registra un resultado el ganador
+ * avanza solo y, si su rival ya está definido, se crea y programa el partido siguiente.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BracketService {
+
+    private static final Logger log = LoggerFactory.getLogger(BracketService.class);
+
+    private final BracketNodeRepository bracketNodeRepository;
+    private final MatchRepository matchRepository;
+    private final StandingService standingService;
+    private final FixtureSchedulerFactory schedulerFactory;
+
+    /**
+     * Cuadro armado en memoria: sus llaves y los partidos que ya se pueden jugar,
+     * agrupados por ronda.
+     */
+    public record Bracket(Long categoryId, List<Long> slots, List<BracketNode> nodes, List<List<Match>> rounds) {
+    }
+
+    /**
+     * Equipo de cada posición de la ronda 1 (null = bye). Con seeded se usa el orden de
+     * la tabla de posiciones; si no, un sorteo.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> seedSlots(Long tournamentId, Long categoryId, List<Team> teams, boolean seeded) {
+        List<Long> ranked = teams.stream().map(Team::getId).sorted().collect(Collectors.toList());
+
+        if (seeded) {
+            Map<Long, Integer> positions = new HashMap<>();
+            for (StandingResponseDTO standing : standingService.getStandingsWithPosition(tournamentId, categoryId)) {
+                positions.put(standing.getTeam().getId(), standing.getPosition());
+            }
+            // Los equipos sin posición van al final
+            ranked.sort(Comparator.comparing((Long id) -> positions.getOrDefault(id, Integer.MAX_VALUE)));
+        } else {
+            Collections.shuffle(ranked);
+        }
+
+        int size = Integer.highestOneBit(Math.max(ranked.size(), 2) - 1) << 1;
+        List<Long> slots = new ArrayList<>(size);
+        for (int seed : seedOrder(size)) {
+            slots.add(seed <= ranked.size() ? ranked.get(seed - 1) : null);
+        }
+        return slots;
+    }
+
+    /**
+     * Crea todas las llaves del cuadro y los partidos cuyos dos equipos ya se conocen
+     * (ronda 1 y, por los byes, parte de la ronda 2). No guarda nada.
+     */
+    public Bracket build(Tournament tournament, Category category, List<Long> slots, Map<Long, Team> teamsById) {
+        int size = slots.size();
+        int rounds = Integer.numberOfTrailingZeros(size);
+        int[] seeds = seedOrder(size);
+
+        List<BracketNode> nodes = new ArrayList<>();
+        Map<List<Integer>, BracketNode> byPosition = new HashMap<>();
+        for (int round = 1; round <= rounds; round++) {
+            for (int position = 0; position < size >> round; position++) {
+                BracketNode node = BracketNode.builder()
+                        .tournament(tournament)
+                        .category(category)
+                        .round(round)
+                        .position(position)
+                        .build();
+                nodes.add(node);
+                byPosition.put(List.of(round, position), node);
+            }
+        }
+
+        List<Match> firstRound = new ArrayList<>();
+        List<Match> secondRound = new ArrayList<>();
+        for (int position = 0; position < size / 2; position++) {
+            BracketNode node = byPosition.get(List.of(1, position));
+            Team home = slots.get(2 * position) != null ? teamsById.get(slots.get(2 * position)) : null;
+            Team away = slots.get(2 * position + 1) != null ? teamsById.get(slots.get(2 * position + 1)) : null;
+            node.setHomeTeam(home);
+            node.setAwayTeam(away);
+            node.setHomeSeed(home != null ? seeds[2 * position] : null);
+            node.setAwaySeed(away != null ? seeds[2 * position + 1] : null);
+
+            if (home != null && away != null) {
+                node.setMatch(newMatch(node));
+                firstRound.add(node.getMatch());
+            } else if (home != null || away != null) {
+                // Bye: el equipo pasa directo a la siguiente ronda
+                Team winner = home != null ? home : away;
+                node.setWinner(winner);
+                BracketNode parent = byPosition.get(List.of(2, position / 2));
+                if (parent != null) {
+                    setSlot(parent, position, winner);
+                }
+            }
+        }
+
+        for (int position = 0; position < size / 4; position++) {
+            BracketNode node = byPosition.get(List.of(2, position));
+            if (node.getHomeTeam() != null && node.getAwayTeam() != null) {
+                node.setMatch(newMatch(node));
+                secondRound.add(node.getMatch());
+            }
+        }
+
+        List<List<Match>> matchesByRound = secondRound.isEmpty()
+                ? List.of(firstRound)
+                : List.of(firstRound, secondRound);
+        return new Bracket(category.getId(), slots, nodes, matchesByRound);
+    }
+
+    /**
+     * Guarda las llaves de un cuadro cuyos partidos ya están guardados.
+     */
+    public void save(Bracket bracket) {
+        bracketNodeRepository.saveAll(bracket.nodes());
+    }
+
+    public void deleteBracket(Long tournamentId, Long categoryId) {
+        bracketNodeRepository.deleteByTournamentIdAndCategoryId(tournamentId, categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BracketNodeResponseDTO> getBracket(Long tournamentId, Long categoryId) {
+        return bracketNodeRepository.findBracket(tournamentId, categoryId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Avanza al ganador de un partido de cuadro. Si el partido no es de un cuadro no hace
+     * nada; los empates no se admiten.
+     */
+    public void advanceWinner(Match match, Integer homeScore, Integer awayScore) {
+        BracketNode node = bracketNodeRepository.findByMatchId(match.getId()).orElse(null);
+        if (node == null || homeScore == null || awayScore == null) {
+            return;
+        }
+        if (homeScore.equals(awayScore)) {
+            throw new BusinessException("Un partido de eliminación directa no puede terminar empatado", "BRACKET_DRAW");
+        }
+
+        Team winner = homeScore > awayScore ? match.getHomeTeam() : match.getAwayTeam();
+        if (node.getWinner() != null && node.getWinner().getId().equals(winner.getId())) {
+            return;
+        }
+        node.setWinner(winner);
+
+        BracketNode parent = findParent(node);
+        if (parent == null) {
+            log.info("🏆 Campeón del cuadro {}/{}: equipo {}",
+                    node.getTournament().getId(), node.getCategory().getId(), winner.getId());
+            return;
+        }
+
+        Match next = parent.getMatch();
+        if (next != null) {
+            // Resultado corregido: cambiar el equipo del partido siguiente si aún no se jugó
+            ensureNotPlayed(next);
+            if (node.getPosition() % 2 == 0) {
+                next.setHomeTeam(winner);
+            } else {
+                next.setAwayTeam(winner);
+            }
+        }
+        setSlot(parent, node.getPosition(), winner);
+
+        if (next == null && parent.getHomeTeam() != null && parent.getAwayTeam() != null) {
+            parent.setMatch(scheduleNext(parent));
+        }
+    }
+
+    /**
+     * Deshace el avance de un partido de cuadro cuyo resultado se eliminó. El partido
+     * siguiente se borra si todavía no se jugó.
+     */
+    public void retractWinner(Match match) {
+        BracketNode node = bracketNodeRepository.findByMatchId(match.getId()).orElse(null);
+        if (node == null || node.getWinner() == null) {
+            return;
+        }
+
+        BracketNode parent = findParent(node);
+        if (parent != null) {
+            Match next = parent.getMatch();
+            if (next != null) {
+                ensureNotPlayed(next);
+                parent.setMatch(null);
+                matchRepository.delete(next);
+            }
+            setSlot(parent, node.getPosition(), null);
+        }
+        node.setWinner(null);
+    }
+
+    private BracketNode findParent(BracketNode node) {
+        return bracketNodeRepository.findByTournamentIdAndCategoryIdAndRoundAndPosition(
+                node.getTournament().getId(), node.getCategory().getId(),
+                node.getRound() + 1, node.getPosition() / 2).orElse(null);
+    }
+
+    private void ensureNotPlayed(Match next) {
+        if (next.getStatus() == MatchStatus.IN_PROGRESS || next.getStatus() == MatchStatus.FINISHED) {
+            throw new BusinessException("No se puede cambiar el resultado: el partido de la siguiente ronda ya se jugó",
+                    "BRACKET_NEXT_ROUND_STARTED");
+        }
+    }
+
+    /**
+     * Crea el partido de una llave y lo programa después de los partidos que la alimentan.
+     */
+    private Match scheduleNext(BracketNode node) {
+        Match match = newMatch(node);
+
+        LocalDate notBefore = null;
+        for (int child = 2 * node.getPosition(); child <= 2 * node.getPosition() + 1; child++) {
+            Match feeder = bracketNodeRepository.findByTournamentIdAndCategoryIdAndRoundAndPosition(
+                            node.getTournament().getId(), node.getCategory().getId(), node.getRound() - 1, child)
+                    .map(BracketNode::getMatch)
+                    .orElse(null);
+            if (feeder != null && feeder.getStartsAt() != null) {
+                LocalDate date = feeder.getStartsAt().toLocalDate().plusDays(1);
+                if (notBefore == null || date.isAfter(notBefore)) notBefore = date;
+            }
+        }
+
+        FixtureScheduler scheduler = schedulerFactory.create(
+                node.getTournament(), List.of(node.getHomeTeam(), node.getAwayTeam()), Set.of());
+        if (notBefore != null) {
+            scheduler.notBefore(notBefore);
+        }
+        if (!scheduler.assign(match)) {
+            log.warn("⚠️ Sin horario libre para la ronda {} del cuadro {}/{}; el partido queda por programar",
+                    node.getRound(), node.getTournament().getId(), node.getCategory().getId());
+        }
+
+        log.info("➡️ Ronda {} del cuadro {}/{}: equipo {} vs equipo {}", node.getRound(),
+                node.getTournament().getId(), node.getCategory().getId(),
+                node.getHomeTeam().getId(), node.getAwayTeam().getId());
+        return matchRepository.save(match);
+    }
+
+    private static void setSlot(BracketNode parent, int childPosition, Team team) {
+        if (childPosition % 2 == 0) {
+            parent.setHomeTeam(team);
+        } else {
+            parent.setAwayTeam(team);
+        }
+    }
+
+    private static Match newMatch(BracketNode node) {
+        return Match.builder()
+                .tournament(node.getTournament())
+                .category(node.getCategory())
+                .homeTeam(node.getHomeTeam())
+                .awayTeam(node.getAwayTeam())
+                .status(MatchStatus.SCHEDULED)
+                .build();
+    }
+
+    /**
+     * Orden estándar de siembras en las posiciones de la ronda 1, p. ej. para 8:
+     * 1, 8, 4, 5, 2, 7, 3, 6.
+     */
+    static int[] seedOrder(int size) {
+        int[] seeds = {1};
+        while (seeds.length < size) {
+            int length = seeds.length * 2;
+            int[] next = new int[length];
+            for (int i = 0; i < seeds.length; i++) {
+                next[2 * i] = seeds[i];
+                next[2 * i + 1] = length + 1 - seeds[i];
+            }
+            seeds = next;
+        }
+        return seeds;
+    }
+
+    private BracketNodeResponseDTO toDTO(BracketNode node) {
+        Match match = node.getMatch();
+        return BracketNodeResponseDTO.builder()
+                .id(node.getId())
+                .round(node.getRound())
+                .position(node.getPosition())
+                .homeSeed(node.getHomeSeed())
+                .awaySeed(node.getAwaySeed())
+                .homeTeamId(node.getHomeTeam() != null ? node.getHomeTeam().getId() : null)
+                .homeTeamName(node.getHomeTeam() != null ? node.getHomeTeam().getName() : null)
+                .awayTeamId(node.getAwayTeam() != null ? node.getAwayTeam().getId() : null)
+                .awayTeamName(node.getAwayTeam() != null ? node.getAwayTeam().getName() : null)
+                .winnerTeamId(node.getWinner() != null ? node.getWinner().getId() : null)
+                .matchId(match != null ? match.getId() : null)
+                .matchStatus(match != null ? match.getStatus() : null)
+                .startsAt(match != null ? match.getStartsAt() : null)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Índice de ocupación de un recurso (equipo o escenario) mientras se genera un fixture.
+ *
+ * Guarda, por id, los horarios de inicio ya asignados en un conjunto ordenado, así que
+ * comprobar si el recurso está libre es una búsqueda de rango O(log n) en lugar de
+ * recorrer todos los partidos generados.
+ */
+public class FixtureOccupancyIndex {
+
+    // Dos partidos del mismo equipo o escenario, el mismo día, deben separarse al menos esto
+    public static final Duration MATCH_DURATION = Duration.ofHours(2);
+
+    private final Map<Long, TreeSet<LocalDateTime>> startsByResource = new HashMap<>();
+
+    public void add(Match match) {
+        if (match.getStartsAt() == null) return;
+        add(match.getHomeTeam().getId(), match.getStartsAt());
+        add(match.getAwayTeam().getId(), match.getStartsAt());
+    }
+
+    public void add(Long resourceId, LocalDateTime startsAt) {
+        startsByResource.computeIfAbsent(resourceId, id -> new TreeSet<>()).add(startsAt);
+    }
+
+    /**
+     * True si alguno de los dos equipos ya juega ese día a menos de
+     * {@link #MATCH_DURATION} del horario dado.
+     */
+    public boolean hasConflict(Long teamA, Long teamB, LocalDateTime startsAt) {
+        return isBusy(teamA, startsAt) || isBusy(teamB, startsAt);
+    }
+
+    public boolean isBusy(Long resourceId, LocalDateTime startsAt) {
+        TreeSet<LocalDateTime> starts = startsByResource.get(resourceId);
+        if (starts == null || starts.isEmpty()) return false;
+
+        LocalDateTime dayStart = startsAt.toLocalDate().atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        LocalDateTime from = startsAt.minus(MATCH_DURATION);
+        LocalDateTime to = startsAt.plus(MATCH_DURATION);
+        boolean fromInclusive = false;
+        if (from.isBefore(dayStart)) {
+            from = dayStart;
+            fromInclusive = true;
+        }
+        if (to.isAfter(dayEnd)) {
+            to = dayEnd;
+        }
+
+        NavigableSet<LocalDateTime> window = starts.subSet(from, fromInclusive, to, false);
+        return !window.isEmpty();
+    }
+}
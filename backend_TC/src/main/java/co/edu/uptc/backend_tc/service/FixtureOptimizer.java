@@ -0,0 +1,493 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.entity.Scenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Optimizador de horarios del fixture por recocido simulado (modo "optimized").
+ *
+ * Parte del fixture del {@link FixtureScheduler} y mueve partidos entre franjas discretas
+ * (fecha, hora, escenario) minimizando un costo que penaliza choques de equipos y de
+ * escenarios, poco descanso entre partidos de un equipo, horarios fuera de la
+ * disponibilidad y la concentración de partidos en un mismo escenario y día. Cada hilo
+ * corre una cadena independiente hasta agotar el presupuesto de tiempo y se queda la
+ * mejor solución encontrada. El presupuesto de cada cadena empieza a contar cuando la
+ * cadena arranca, no cuando se encola: el pool es compartido entre categorías.
+ *
+ * Los cambios de costo se calculan de forma incremental: mover un partido solo mira los
+ * partidos de sus dos equipos y la ocupación de las franjas vecinas del escenario.
+ */
+@Component
+public class FixtureOptimizer {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureOptimizer.class);
+
+    // Pesos del costo
+    private static final long HARD = 1000;      // choque de equipo o de escenario
+    private static final long REST = 20;        // por día de descanso faltante
+    private static final long AVAILABILITY = 10; // por equipo fuera de su disponibilidad
+    private static final long LOAD = 1;         // partidos² por escenario y día
+
+    private static final int MIN_REST_DAYS = FixtureQuality.MIN_REST_DAYS;
+    private static final int TICKS_PER_DAY = WeeklySlotBitmap.SLOTS_PER_DAY;
+    private static final int MATCH_TICKS = FixtureScheduler.MATCH_SLOTS;
+    private static final long MIN_RUN_BUDGET_MS = 100;
+
+    private final TaskExecutor executor;
+    private final int chains;
+    private final long defaultBudgetMs;
+    private final long maxBudgetMs;
+
+    public FixtureOptimizer(@Qualifier("fixtureOptimizerExecutor") TaskExecutor executor,
+                            @Value("${app.fixtures.optimizer-threads:2}") int chains,
+                            @Value("${app.fixtures.optimizer-budget-ms:2000}") long defaultBudgetMs,
+                            @Value("${app.fixtures.optimizer-max-budget-ms:20000}") long maxBudgetMs) {
+        this.executor = executor;
+        this.chains = Math.max(1, chains);
+        this.defaultBudgetMs = defaultBudgetMs;
+        this.maxBudgetMs = maxBudgetMs;
+    }
+
+    /**
+     * Reparte el presupuesto total (o el de configuración) entre varias ejecuciones que
+     * comparten el pool de cadenas, como las categorías de un mismo torneo.
+     */
+    public long budgetFor(Long budgetMs, int runs) {
+        long total = Math.min(budgetMs != null && budgetMs > 0 ? budgetMs : defaultBudgetMs, maxBudgetMs);
+        return Math.max(MIN_RUN_BUDGET_MS, total / Math.max(1, runs));
+    }
+
+    /**
+     * Mejora en sitio el horario y escenario de los partidos ya programados por el
+     * scheduler. Devuelve el resumen de la mejor solución, o null si no hay franjas.
+     */
+    public Result optimize(FixtureScheduler scheduler, List<Match> matches, Long budgetMs) {
+        if (matches.size() < 2) return null;
+
+        long budgetNanos = budgetFor(budgetMs, 1) * 1_000_000L;
+        Problem problem = new Problem(scheduler, matches);
+        if (problem.slotCount() == 0) return null;
+
+        int[] initial = problem.initialAssignment(matches);
+
+        List<CompletableFuture<Chain>> running = new ArrayList<>();
+        for (int c = 0; c < chains; c++) {
+            long seed = 31L * c + matches.size();
+            running.add(CompletableFuture.supplyAsync(() -> {
+                Chain chain = new Chain(problem, initial, new SplittableRandom(seed));
+                chain.anneal(System.nanoTime() + budgetNanos);
+                return chain;
+            }, executor));
+        }
+
+        Chain best = running.stream()
+                .map(CompletableFuture::join)
+                .min(Comparator.comparingLong(chain -> chain.bestCost))
+                .orElseThrow();
+
+        problem.apply(best.best, matches);
+        Result evaluated = problem.evaluate(best.best);
+        int unscheduled = unscheduleConflicts(scheduler, matches);
+        log.info("🧮 Fixture optimizado: {} partidos, costo {} -> {}, {} iteraciones en {} cadenas, {} sin horario",
+                matches.size(), best.initialCost, best.bestCost,
+                running.stream().mapToLong(f -> f.join().iterations).sum(), chains, unscheduled);
+        return new Result(evaluated.cost(), evaluated.teamConflicts(), evaluated.scenarioConflicts(),
+                evaluated.restViolations(), evaluated.outsideAvailability(), unscheduled);
+    }
+
+    /**
+     * Deja sin horario los partidos que en la mejor solución siguen chocando (por equipo
+     * o escenario, incluidos los partidos ajenos) con uno ya aceptado, para que se
+     * reporten como no programados en vez de guardarse encimados.
+     */
+    private static int unscheduleConflicts(FixtureScheduler scheduler, List<Match> matches) {
+        FixtureOccupancyIndex teams = new FixtureOccupancyIndex();
+        FixtureOccupancyIndex scenarios = new FixtureOccupancyIndex();
+        for (FixtureScheduler.Reservation r : scheduler.getReservations()) {
+            if (r.homeTeamId() != null) teams.add(r.homeTeamId(), r.startsAt());
+            if (r.awayTeamId() != null) teams.add(r.awayTeamId(), r.startsAt());
+            if (r.scenarioId() != null) scenarios.add(r.scenarioId(), r.startsAt());
+        }
+
+        int unscheduled = 0;
+        for (Match match : matches) {
+            LocalDateTime startsAt = match.getStartsAt();
+            Long home = match.getHomeTeam().getId();
+            Long away = match.getAwayTeam().getId();
+            Long scenarioId = match.getScenario() != null ? match.getScenario().getId() : null;
+            if (teams.hasConflict(home, away, startsAt)
+                    || (scenarioId != null && scenarios.isBusy(scenarioId, startsAt))) {
+                match.setStartsAt(null);
+                match.setScenario(null);
+                unscheduled++;
+                continue;
+            }
+            teams.add(home, startsAt);
+            teams.add(away, startsAt);
+            if (scenarioId != null) scenarios.add(scenarioId, startsAt);
+        }
+        return unscheduled;
+    }
+
+    /**
+     * Resumen de calidad de la mejor solución. Los conflictos son los de la solución
+     * encontrada; unscheduled, los partidos que se dejaron sin horario por seguir chocando.
+     */
+    public record Result(long cost, int teamConflicts, int scenarioConflicts,
+                         int restViolations, int outsideAvailability, int unscheduled) {
+    }
+
+    /**
+     * Datos inmutables del problema, compartidos por todas las cadenas.
+     */
+    private static final class Problem {
+        private final LocalDate firstDate;
+        private final int days;
+        private final List<Scenario> scenarios;
+        private final int scenarioCount;
+        private final Map<Long, Integer> scenarioIndex = new HashMap<>();
+
+        private final int[] home;
+        private final int[] away;
+        private final int[][] matchesOfTeam;
+        private final WeeklySlotBitmap[] teamAvailability;
+
+        // Franjas candidatas
+        private final int[] slotDay;
+        private final int[] slotTick;
+        private final int[] slotScenario;
+
+        // Ocupación de escenarios por partidos ajenos [escenario][día * TICKS_PER_DAY + tick]
+        private final int[][] externalOccupancy;
+
+        private Problem(FixtureScheduler scheduler, List<Match> matches) {
+            this.firstDate = scheduler.getFirstDate();
+            this.days = (int) Math.max(0, ChronoUnit.DAYS.between(firstDate, scheduler.getTournament().getEndDate()) + 1);
+            this.scenarios = scheduler.getScenarios();
+            this.scenarioCount = scenarios.size();
+
+            Map<Long, Integer> teamIndex = new HashMap<>();
+            home = new int[matches.size()];
+            away = new int[matches.size()];
+            for (int i = 0; i < matches.size(); i++) {
+                home[i] = teamIndex.computeIfAbsent(matches.get(i).getHomeTeam().getId(), id -> teamIndex.size());
+                away[i] = teamIndex.computeIfAbsent(matches.get(i).getAwayTeam().getId(), id -> teamIndex.size());
+            }
+
+            List<List<Integer>> byTeam = new ArrayList<>();
+            for (int t = 0; t < teamIndex.size(); t++) byTeam.add(new ArrayList<>());
+            for (int i = 0; i < matches.size(); i++) {
+                byTeam.get(home[i]).add(i);
+                byTeam.get(away[i]).add(i);
+            }
+            matchesOfTeam = byTeam.stream()
+                    .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+
+            teamAvailability = new WeeklySlotBitmap[teamIndex.size()];
+            teamIndex.forEach((teamId, index) -> teamAvailability[index] = scheduler.getAvailability().get(teamId));
+
+            // Horas posibles por día de la semana: horario por defecto más ventanas de cada equipo
+            Map<DayOfWeek, SortedSet<LocalTime>> timesByDay = new EnumMap<>(DayOfWeek.class);
+            for (DayOfWeek day : DayOfWeek.values()) timesByDay.put(day, new TreeSet<>());
+            for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                    DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+                timesByDay.get(day).addAll(scheduler.getDefaultTimes());
+            }
+            for (WeeklySlotBitmap bitmap : teamAvailability) {
+                if (bitmap == null) continue;
+                for (WeeklySlotBitmap.Slot slot : bitmap.candidateStarts(MATCH_TICKS, FixtureScheduler.SLOT_STEP)) {
+                    timesByDay.get(slot.dayOfWeek()).add(slot.startTime());
+                }
+            }
+
+            List<int[]> slots = new ArrayList<>();
+            for (int d = 0; d < days; d++) {
+                LocalDate date = firstDate.plusDays(d);
+                for (LocalTime time : timesByDay.get(date.getDayOfWeek())) {
+                    int tick = time.toSecondOfDay() / 60 / WeeklySlotBitmap.SLOT_MINUTES;
+                    if (scenarioCount == 0) {
+                        slots.add(new int[]{d, tick, -1});
+                        continue;
+                    }
+                    boolean needsLights = FixtureScheduler.endsAtNight(date.atTime(time));
+                    for (int s = 0; s < scenarioCount; s++) {
+                        if (needsLights && !Boolean.TRUE.equals(scenarios.get(s).getSupportsNightGames())) continue;
+                        slots.add(new int[]{d, tick, s});
+                    }
+                }
+            }
+            slotDay = slots.stream().mapToInt(slot -> slot[0]).toArray();
+            slotTick = slots.stream().mapToInt(slot -> slot[1]).toArray();
+            slotScenario = slots.stream().mapToInt(slot -> slot[2]).toArray();
+
+            externalOccupancy = new int[scenarioCount][days * TICKS_PER_DAY];
+            for (int s = 0; s < scenarioCount; s++) scenarioIndex.put(scenarios.get(s).getId(), s);
+            for (FixtureScheduler.Reservation r : scheduler.getReservations()) {
+                Integer s = r.scenarioId() != null ? scenarioIndex.get(r.scenarioId()) : null;
+                int d = (int) ChronoUnit.DAYS.between(firstDate, r.startsAt().toLocalDate());
+                if (s == null || d < 0 || d >= days) continue;
+                externalOccupancy[s][d * TICKS_PER_DAY + tickOf(r.startsAt().toLocalTime())]++;
+            }
+        }
+
+        private int slotCount() {
+            return slotDay.length;
+        }
+
+        private int matchCount() {
+            return home.length;
+        }
+
+        private int[] initialAssignment(List<Match> matches) {
+            Map<List<Integer>, Integer> slotIndex = new HashMap<>();
+            for (int k = 0; k < slotCount(); k++) {
+                slotIndex.putIfAbsent(List.of(slotDay[k], slotTick[k], slotScenario[k]), k);
+            }
+
+            SplittableRandom random = new SplittableRandom(matches.size());
+            int[] assignment = new int[matches.size()];
+            for (int i = 0; i < matches.size(); i++) {
+                Match match = matches.get(i);
+                Integer k = null;
+                if (match.getStartsAt() != null) {
+                    int d = (int) ChronoUnit.DAYS.between(firstDate, match.getStartsAt().toLocalDate());
+                    int s = match.getScenario() != null ? scenarioIndex.getOrDefault(match.getScenario().getId(), -1) : -1;
+                    k = slotIndex.get(List.of(d, tickOf(match.getStartsAt().toLocalTime()), s));
+                }
+                assignment[i] = k != null ? k : random.nextInt(slotCount());
+            }
+            return assignment;
+        }
+
+        private void apply(int[] assignment, List<Match> matches) {
+            for (int i = 0; i < matches.size(); i++) {
+                int k = assignment[i];
+                matches.get(i).setStartsAt(firstDate.plusDays(slotDay[k])
+                        .atTime(LocalTime.ofSecondOfDay((long) slotTick[k] * WeeklySlotBitmap.SLOT_MINUTES * 60)));
+                matches.get(i).setScenario(slotScenario[k] >= 0 ? scenarios.get(slotScenario[k]) : null);
+            }
+        }
+
+        private Result evaluate(int[] assignment) {
+            Chain chain = new Chain(this, assignment, new SplittableRandom(0));
+            int teamConflicts = 0, restViolations = 0, outside = 0, scenarioConflicts = 0;
+
+            for (int i = 0; i < matchCount(); i++) {
+                for (int team : new int[]{home[i], away[i]}) {
+                    for (int j : matchesOfTeam[team]) {
+                        if (j <= i) continue;
+                        long penalty = pairPenalty(assignment[i], assignment[j]);
+                        if (penalty >= HARD) teamConflicts++;
+                        else if (penalty > 0) restViolations++;
+                    }
+                }
+                outside += (int) (availabilityPenalty(i, assignment[i]) / AVAILABILITY);
+                int s = slotScenario[assignment[i]];
+                if (s >= 0) {
+                    scenarioConflicts += chain.overlapping(s, slotDay[assignment[i]], slotTick[assignment[i]]) - 1;
+                }
+            }
+            return new Result(chain.cost, teamConflicts, scenarioConflicts / 2, restViolations, outside, 0);
+        }
+
+        /**
+         * Penalización entre dos partidos de un mismo equipo.
+         */
+        private long pairPenalty(int slotA, int slotB) {
+            int dayGap = Math.abs(slotDay[slotA] - slotDay[slotB]);
+            if (dayGap == 0 && Math.abs(slotTick[slotA] - slotTick[slotB]) < MATCH_TICKS) {
+                return HARD;
+            }
+            return dayGap < MIN_REST_DAYS ? REST * (MIN_REST_DAYS - dayGap) : 0;
+        }
+
+        private long availabilityPenalty(int match, int slot) {
+            DayOfWeek day = firstDate.plusDays(slotDay[slot]).getDayOfWeek();
+            long penalty = 0;
+            for (int team : new int[]{home[match], away[match]}) {
+                WeeklySlotBitmap bitmap = teamAvailability[team];
+                if (bitmap != null && !bitmap.isEmpty() && !bitmap.covers(day, slotTick[slot], MATCH_TICKS)) {
+                    penalty += AVAILABILITY;
+                }
+            }
+            return penalty;
+        }
+
+        private static int tickOf(LocalTime time) {
+            return time.toSecondOfDay() / 60 / WeeklySlotBitmap.SLOT_MINUTES;
+        }
+    }
+
+    /**
+     * Una cadena de recocido: asignación actual, ocupación incremental y mejor solución.
+     */
+    private static final class Chain {
+        private final Problem problem;
+        private final SplittableRandom random;
+        private final int[] assignment;
+        private final int[][] occupancy;  // [escenario][día * TICKS_PER_DAY + tick], incluye partidos ajenos
+        private final int[][] load;       // [escenario][día]
+        private long cost;
+
+        private final long initialCost;
+        private int[] best;
+        private long bestCost;
+        private long iterations;
+
+        private Chain(Problem problem, int[] initial, SplittableRandom random) {
+            this.problem = problem;
+            this.random = random;
+            this.assignment = new int[initial.length];
+            this.occupancy = new int[problem.scenarioCount][];
+            this.load = new int[problem.scenarioCount][problem.days];
+            for (int s = 0; s < problem.scenarioCount; s++) {
+                occupancy[s] = problem.externalOccupancy[s].clone();
+            }
+
+            // Costo inicial insertando los partidos uno a uno
+            Arrays.fill(assignment, -1);
+            for (int i = 0; i < initial.length; i++) {
+                cost += insert(i, initial[i]);
+            }
+            this.initialCost = cost;
+            this.best = assignment.clone();
+            this.bestCost = cost;
+        }
+
+        private void anneal(long deadline) {
+            long start = System.nanoTime();
+            double total = Math.max(1, deadline - start);
+            double startTemperature = REST * 2.0;
+            double endTemperature = 0.5;
+            double temperature = startTemperature;
+            int n = assignment.length;
+
+            while (true) {
+                if ((iterations & 255) == 0) {
+                    long now = System.nanoTime();
+                    if (now >= deadline || bestCost == 0) break;
+                    double progress = (now - start) / total;
+                    temperature = startTemperature * Math.pow(endTemperature / startTemperature, progress);
+                }
+                iterations++;
+
+                int i = random.nextInt(n);
+                int fromI = assignment[i];
+                long delta;
+                int j = -1;
+                int fromJ = -1;
+
+                if (random.nextInt(5) == 0) {
+                    // Intercambio: conserva la carga de franjas
+                    j = random.nextInt(n);
+                    if (j == i) continue;
+                    fromJ = assignment[j];
+                    delta = move(i, fromJ) + move(j, fromI);
+                } else {
+                    delta = move(i, random.nextInt(problem.slotCount()));
+                }
+
+                if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                    cost += delta;
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        best = assignment.clone();
+                    }
+                } else if (j >= 0) {
+                    move(j, fromJ);
+                    move(i, fromI);
+                } else {
+                    move(i, fromI);
+                }
+            }
+        }
+
+        private long move(int match, int slot) {
+            return -remove(match) + insert(match, slot);
+        }
+
+        /**
+         * Coloca el partido en la franja y devuelve el costo que agrega.
+         */
+        private long insert(int match, int slot) {
+            long added = problem.availabilityPenalty(match, slot);
+            for (int team : new int[]{problem.home[match], problem.away[match]}) {
+                for (int other : problem.matchesOfTeam[team]) {
+                    if (other != match && assignment[other] >= 0) {
+                        added += problem.pairPenalty(slot, assignment[other]);
+                    }
+                }
+            }
+
+            int s = problem.slotScenario[slot];
+            if (s >= 0) {
+                int day = problem.slotDay[slot];
+                added += HARD * overlapping(s, day, problem.slotTick[slot]);
+                added += LOAD * (2L * load[s][day] + 1);
+                occupancy[s][day * TICKS_PER_DAY + problem.slotTick[slot]]++;
+                load[s][day]++;
+            }
+            assignment[match] = slot;
+            return added;
+        }
+
+        /**
+         * Quita el partido de su franja y devuelve el costo que aportaba.
+         */
+        private long remove(int match) {
+            int slot = assignment[match];
+            assignment[match] = -1;
+
+            int s = problem.slotScenario[slot];
+            if (s >= 0) {
+                int day = problem.slotDay[slot];
+                occupancy[s][day * TICKS_PER_DAY + problem.slotTick[slot]]--;
+                load[s][day]--;
+            }
+
+            long removed = problem.availabilityPenalty(match, slot);
+            for (int team : new int[]{problem.home[match], problem.away[match]}) {
+                for (int other : problem.matchesOfTeam[team]) {
+                    if (other != match && assignment[other] >= 0) {
+                        removed += problem.pairPenalty(slot, assignment[other]);
+                    }
+                }
+            }
+            if (s >= 0) {
+                int day = problem.slotDay[slot];
+                removed += HARD * overlapping(s, day, problem.slotTick[slot]);
+                removed += LOAD * (2L * load[s][day] + 1);
+            }
+            return removed;
+        }
+
+        /**
+         * Partidos del escenario que empiezan ese día a menos de un partido de distancia.
+         */
+        private int overlapping(int scenario, int day, int tick) {
+            int base = day * TICKS_PER_DAY;
+            int from = Math.max(0, tick - MATCH_TICKS + 1);
+            int to = Math.min(TICKS_PER_DAY - 1, tick + MATCH_TICKS - 1);
+            int count = 0;
+            for (int t = from; t <= to; t++) {
+                count += occupancy[scenario][base + t];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.FixturePreviewDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Vistas previas de fixture en memoria, indexadas por token y con vencimiento.
+ * Se guarda a lo sumo {@code app.fixtures.preview-max-entries}; al superarlo se descarta
+ * la más antigua (todas duran lo mismo, así que es también la que vence primero).
+ */
+@Component
+public class FixturePreviewCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FixturePreviewCache.class);
+
+    // En orden de creación
+    private final Map<String, FixturePreviewDTO> previews = new LinkedHashMap<>();
+    private final long ttlMs;
+    private final int maxEntries;
+
+    public FixturePreviewCache(@Value("${app.fixtures.preview-ttl-ms:900000}") long ttlMs,
+                               @Value("${app.fixtures.preview-max-entries:50}") int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Asigna token y vencimiento a la vista previa y la guarda.
+     */
+    public synchronized FixturePreviewDTO put(FixturePreviewDTO preview) {
+        preview.setToken(UUID.randomUUID().toString());
+        preview.setExpiresAt(LocalDateTime.now().plusNanos(ttlMs * 1_000_000L));
+
+        purgeExpired();
+        Iterator<String> oldest = previews.keySet().iterator();
+        while (previews.size() >= maxEntries && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+        previews.put(preview.getToken(), preview);
+        return preview;
+    }
+
+    public synchronized Optional<FixturePreviewDTO> get(String token) {
+        FixturePreviewDTO preview = previews.get(token);
+        if (preview == null || isExpired(preview)) {
+            return Optional.empty();
+        }
+        return Optional.of(preview);
+    }
+
+    /**
+     * Quita y devuelve la vista previa, de modo que solo se pueda confirmar una vez.
+     */
+    public synchronized Optional<FixturePreviewDTO> take(String token) {
+        FixturePreviewDTO preview = previews.remove(token);
+        if (preview == null || isExpired(preview)) {
+            return Optional.empty();
+        }
+        return Optional.of(preview);
+    }
+
+    @Scheduled(fixedDelayString = "${app.fixtures.preview-ttl-ms:900000}")
+    public synchronized void purgeExpired() {
+        int before = previews.size();
+        previews.values().removeIf(this::isExpired);
+        int removed = before - previews.size();
+        if (removed > 0) {
+            log.debug("🧹 {} vistas previas de fixture vencidas eliminadas", removed);
+        }
+    }
+
+    private boolean isExpired(FixturePreviewDTO preview) {
+        return preview.getExpiresAt().isBefore(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,73 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Métricas de calidad de un fixture programado: partidos que se cruzan para un equipo o
+ * un escenario (incluidos los partidos ajenos reservados en el scheduler), partidos de
+ * un equipo con menos de {@value #MIN_REST_DAYS} días de descanso, equipos que juegan
+ * fuera de su disponibilidad y partidos que no cupieron en ningún horario libre.
+ */
+public record FixtureQuality(int teamConflicts, int scenarioConflicts,
+                             int restViolations, int outsideAvailability, int unscheduled) {
+
+    public static final int MIN_REST_DAYS = 2;
+
+    public static FixtureQuality evaluate(FixtureScheduler scheduler, List<Match> matches) {
+        FixtureOccupancyIndex teams = new FixtureOccupancyIndex();
+        FixtureOccupancyIndex scenarios = new FixtureOccupancyIndex();
+        for (FixtureScheduler.Reservation r : scheduler.getReservations()) {
+            if (r.scenarioId() != null) scenarios.add(r.scenarioId(), r.startsAt());
+        }
+
+        int teamConflicts = 0;
+        int scenarioConflicts = 0;
+        int outside = 0;
+        int unscheduled = 0;
+        Map<Long, List<LocalDateTime>> datesByTeam = new HashMap<>();
+
+        for (Match match : matches) {
+            LocalDateTime startsAt = match.getStartsAt();
+            if (startsAt == null) {
+                unscheduled++;
+                continue;
+            }
+            Long home = match.getHomeTeam().getId();
+            Long away = match.getAwayTeam().getId();
+
+            if (teams.hasConflict(home, away, startsAt)) teamConflicts++;
+            teams.add(home, startsAt);
+            teams.add(away, startsAt);
+
+            if (match.getScenario() != null) {
+                if (scenarios.isBusy(match.getScenario().getId(), startsAt)) scenarioConflicts++;
+                scenarios.add(match.getScenario().getId(), startsAt);
+            }
+
+            int slot = startsAt.toLocalTime().toSecondOfDay() / 60 / WeeklySlotBitmap.SLOT_MINUTES;
+            for (Long team : List.of(home, away)) {
+                WeeklySlotBitmap bitmap = scheduler.getAvailability().get(team);
+                if (bitmap != null && !bitmap.isEmpty()
+                        && !bitmap.covers(startsAt.getDayOfWeek(), slot, FixtureScheduler.MATCH_SLOTS)) {
+                    outside++;
+                }
+                datesByTeam.computeIfAbsent(team, id -> new ArrayList<>()).add(startsAt);
+            }
+        }
+
+        int restViolations = 0;
+        for (List<LocalDateTime> dates : datesByTeam.values()) {
+            Collections.sort(dates);
+            for (int i = 1; i < dates.size(); i++) {
+                long gap = ChronoUnit.DAYS.between(dates.get(i - 1).toLocalDate(), dates.get(i).toLocalDate());
+                if (gap > 0 && gap < MIN_REST_DAYS) restViolations++;
+            }
+        }
+
+        return new FixtureQuality(teamConflicts, scenarioConflicts, restViolations, outside, unscheduled);
+    }
+}
@@ -0,0 +1,264 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.entity.Scenario;
+import co.edu.uptc.backend_tc.entity.Tournament;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Asigna horario y escenario a los partidos de un fixture.
+ *
+ * Los equipos y los escenarios se tratan como recursos: cada escenario admite un solo
+ * partido por franja y los partidos que terminan de noche solo van a escenarios con
+ * iluminación. La ocupación de ambos se lleva en índices ordenados
+ * ({@link FixtureOccupancyIndex}), así que cada comprobación es O(log n) y programar
+ * todas las categorías de un torneo en una sola pasada cuesta casi lineal en partidos.
+ *
+ * No es un bean: se crea uno por generación, sembrado con los partidos ya programados
+ * en los mismos escenarios.
+ */
+public class FixtureScheduler {
+
+    // A partir de esta hora un partido necesita un escenario con iluminación
+    public static final LocalTime NIGHT_START = LocalTime.of(18, 0);
+
+    // Horario por defecto: Lunes a Viernes, 14:00 y 16:00
+    private static final LocalTime[] DEFAULT_TIMES = {LocalTime.of(14, 0), LocalTime.of(16, 0)};
+
+    // Un partido ocupa FixtureOccupancyIndex.MATCH_DURATION; se prueban inicios cada hora
+    static final int MATCH_SLOTS =
+            (int) (FixtureOccupancyIndex.MATCH_DURATION.toMinutes() / WeeklySlotBitmap.SLOT_MINUTES);
+    static final int SLOT_STEP = 60 / WeeklySlotBitmap.SLOT_MINUTES;
+
+    private final Tournament tournament;
+    private final List<Scenario> scenarios;
+    private final Map<Long, WeeklySlotBitmap> availability;
+    private final FixtureOccupancyIndex teamOccupancy = new FixtureOccupancyIndex();
+    private final FixtureOccupancyIndex scenarioOccupancy = new FixtureOccupancyIndex();
+    private final List<Reservation> reservations = new ArrayList<>();
+    private LocalDate firstDate;
+
+    public FixtureScheduler(Tournament tournament, List<Scenario> scenarios, Map<Long, WeeklySlotBitmap> availability) {
+        this.tournament = tournament;
+        this.scenarios = scenarios.stream()
+                .sorted(Comparator.comparing(Scenario::getId))
+                .collect(Collectors.toList());
+        this.availability = availability;
+
+        LocalDate today = LocalDate.now();
+        this.firstDate = tournament.getStartDate().isAfter(today) ? tournament.getStartDate() : today;
+    }
+
+    /**
+     * No programar antes de esta fecha (p. ej. la siguiente ronda de una llave).
+     */
+    public void notBefore(LocalDate date) {
+        if (date.isAfter(firstDate)) {
+            firstDate = date;
+        }
+    }
+
+    /**
+     * Registra un partido ya programado (de otra categoría o torneo) como ocupación.
+     */
+    public void reserve(Long homeTeamId, Long awayTeamId, Long scenarioId, LocalDateTime startsAt) {
+        if (startsAt == null) return;
+        reservations.add(new Reservation(homeTeamId, awayTeamId, scenarioId, startsAt));
+        occupy(homeTeamId, awayTeamId, scenarioId, startsAt);
+    }
+
+    /**
+     * Copia independiente con la misma ocupación de partidos ajenos, para programar
+     * categorías en paralelo.
+     */
+    public FixtureScheduler fork() {
+        FixtureScheduler copy = new FixtureScheduler(tournament, scenarios, availability);
+        copy.firstDate = firstDate;
+        for (Reservation r : reservations) {
+            copy.reserve(r.homeTeamId(), r.awayTeamId(), r.scenarioId(), r.startsAt());
+        }
+        return copy;
+    }
+
+    private void occupy(Long homeTeamId, Long awayTeamId, Long scenarioId, LocalDateTime startsAt) {
+        if (homeTeamId != null) teamOccupancy.add(homeTeamId, startsAt);
+        if (awayTeamId != null) teamOccupancy.add(awayTeamId, startsAt);
+        if (scenarioId != null) scenarioOccupancy.add(scenarioId, startsAt);
+    }
+
+    /**
+     * Programa las rondas de varias categorías intercalándolas (ronda 1 de todas, luego
+     * ronda 2...), para que ninguna categoría acapare las primeras fechas.
+     */
+    public List<Match> scheduleRounds(Collection<List<List<Match>>> roundsByCategory) {
+        List<Match> scheduled = new ArrayList<>();
+        int maxRounds = roundsByCategory.stream().mapToInt(List::size).max().orElse(0);
+
+        for (int round = 0; round < maxRounds; round++) {
+            for (List<List<Match>> rounds : roundsByCategory) {
+                if (round >= rounds.size()) continue;
+                for (Match match : rounds.get(round)) {
+                    assign(match);
+                    scheduled.add(match);
+                }
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Asigna al partido el primer horario en que ambos equipos están libres y hay un
+     * escenario disponible. Se prueban primero las ventanas comunes de disponibilidad y
+     * luego el horario por defecto, dentro del rango del torneo. Si no hay ninguno libre
+     * el partido queda sin horario (startsAt null) y devuelve false.
+     */
+    public boolean assign(Match match) {
+        Long home = match.getHomeTeam().getId();
+        Long away = match.getAwayTeam().getId();
+
+        Iterator<LocalDateTime> candidates = candidateTimes(home, away).iterator();
+        while (candidates.hasNext()) {
+            LocalDateTime candidate = candidates.next();
+            if (teamOccupancy.hasConflict(home, away, candidate)) continue;
+
+            if (scenarios.isEmpty()) {
+                place(match, candidate, null);
+                return true;
+            }
+            Scenario scenario = findFreeScenario(candidate);
+            if (scenario != null) {
+                place(match, candidate, scenario);
+                return true;
+            }
+        }
+
+        // Sin horario libre no se fuerza uno que choque: queda pendiente y se reporta
+        match.setStartsAt(null);
+        match.setScenario(null);
+        return false;
+    }
+
+    /**
+     * Conserva el horario ya asignado al partido si sigue libre (cambiando de escenario
+     * si hace falta); si no, lo reprograma con {@link #assign}. Devuelve false si se movió.
+     */
+    public boolean keepOrReassign(Match match) {
+        LocalDateTime startsAt = match.getStartsAt();
+        Long home = match.getHomeTeam().getId();
+        Long away = match.getAwayTeam().getId();
+
+        if (startsAt != null && !teamOccupancy.hasConflict(home, away, startsAt)) {
+            if (scenarios.isEmpty()) {
+                place(match, startsAt, null);
+                return true;
+            }
+            Scenario current = match.getScenario();
+            if (current != null && !scenarioOccupancy.isBusy(current.getId(), startsAt)) {
+                place(match, startsAt, current);
+                return true;
+            }
+            Scenario other = findFreeScenario(startsAt);
+            if (other != null) {
+                place(match, startsAt, other);
+                return true;
+            }
+        }
+
+        assign(match);
+        return false;
+    }
+
+    private void place(Match match, LocalDateTime startsAt, Scenario scenario) {
+        match.setStartsAt(startsAt);
+        match.setScenario(scenario);
+        occupy(match.getHomeTeam().getId(), match.getAwayTeam().getId(),
+                scenario != null ? scenario.getId() : null, startsAt);
+    }
+
+    private Scenario findFreeScenario(LocalDateTime startsAt) {
+        boolean needsLights = endsAtNight(startsAt);
+        for (Scenario scenario : scenarios) {
+            if (needsLights && !Boolean.TRUE.equals(scenario.getSupportsNightGames())) continue;
+            if (!scenarioOccupancy.isBusy(scenario.getId(), startsAt)) {
+                return scenario;
+            }
+        }
+        return null;
+    }
+
+    public Tournament getTournament() {
+        return tournament;
+    }
+
+    public List<Scenario> getScenarios() {
+        return scenarios;
+    }
+
+    public Map<Long, WeeklySlotBitmap> getAvailability() {
+        return availability;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public List<LocalTime> getDefaultTimes() {
+        return List.of(DEFAULT_TIMES);
+    }
+
+    /**
+     * Partidos ajenos a esta generación registrados con {@link #reserve}.
+     */
+    public List<Reservation> getReservations() {
+        return Collections.unmodifiableList(reservations);
+    }
+
+    static boolean endsAtNight(LocalDateTime startsAt) {
+        LocalDateTime end = startsAt.plus(FixtureOccupancyIndex.MATCH_DURATION);
+        return end.toLocalTime().isAfter(NIGHT_START) || !end.toLocalDate().equals(startsAt.toLocalDate());
+    }
+
+    /**
+     * Horarios candidatos en orden cronológico, generados de forma perezosa: primero las
+     * ventanas comunes de ambos equipos, semana a semana; luego el horario por defecto.
+     */
+    private Stream<LocalDateTime> candidateTimes(Long home, Long away) {
+        Stream<LocalDateTime> preferred = Stream.empty();
+
+        WeeklySlotBitmap a = availability.get(home);
+        WeeklySlotBitmap b = availability.get(away);
+        if (a != null && b != null) {
+            Map<DayOfWeek, List<WeeklySlotBitmap.Slot>> slotsByDay = a.and(b)
+                    .candidateStarts(MATCH_SLOTS, SLOT_STEP)
+                    .stream()
+                    .collect(Collectors.groupingBy(WeeklySlotBitmap.Slot::dayOfWeek));
+            if (!slotsByDay.isEmpty()) {
+                preferred = tournamentDates().flatMap(date -> slotsByDay
+                        .getOrDefault(date.getDayOfWeek(), List.of())
+                        .stream()
+                        .map(slot -> date.atTime(slot.startTime())));
+            }
+        }
+
+        Stream<LocalDateTime> defaults = tournamentDates()
+                .filter(date -> date.getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue())
+                .flatMap(date -> Arrays.stream(DEFAULT_TIMES).map(date::atTime));
+
+        return Stream.concat(preferred, defaults);
+    }
+
+    private Stream<LocalDate> tournamentDates() {
+        LocalDate endDate = tournament.getEndDate();
+        return Stream.iterate(firstDate, date -> !date.isAfter(endDate), date -> date.plusDays(1));
+    }
+
+    public record Reservation(Long homeTeamId, Long awayTeamId, Long scenarioId, LocalDateTime startsAt) {
+    }
+}
@@ -0,0 +1,72 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.Team;
+import co.edu.uptc.backend_tc.entity.TeamAvailability;
+import co.edu.uptc.backend_tc.entity.Tournament;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.repository.MatchRepository;
+import co.edu.uptc.backend_tc.repository.ScenarioRepository;
+import co.edu.uptc.backend_tc.repository.TeamAvailabilityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Crea {@link FixtureScheduler}s listos para usar: escenarios, disponibilidad de los
+ * equipos y ocupación actual de equipos y escenarios en el rango del torneo.
+ */
+@Component
+@RequiredArgsConstructor
+public class FixtureSchedulerFactory {
+
+    private final MatchRepository matchRepository;
+    private final TeamAvailabilityRepository availabilityRepository;
+    private final ScenarioRepository scenarioRepository;
+
+    /**
+     * Scheduler sembrado con los partidos que ya ocupan escenarios o equipos en el rango
+     * de fechas del torneo (otras categorías y otros torneos). Los partidos de las
+     * categorías que se van a reemplazar no cuentan.
+     */
+    public FixtureScheduler create(Tournament tournament, List<Team> teams, Set<Long> replacedCategoryIds) {
+        FixtureScheduler scheduler = new FixtureScheduler(
+                tournament, scenarioRepository.findAll(), loadAvailability(teams));
+
+        LocalDateTime from = tournament.getStartDate().atStartOfDay();
+        LocalDateTime to = tournament.getEndDate().plusDays(1).atStartOfDay();
+        for (Object[] row : matchRepository.findScheduleBetween(from, to, MatchStatus.CANCELLED)) {
+            if (tournament.getId().equals(row[4]) && replacedCategoryIds.contains((Long) row[5])) continue;
+            scheduler.reserve((Long) row[0], (Long) row[1], (Long) row[2], (LocalDateTime) row[3]);
+        }
+        return scheduler;
+    }
+
+    /**
+     * Mapa de bits semanal de cada equipo. Los equipos que aún no lo tienen guardado se
+     * construyen desde sus franjas, todas en una sola consulta.
+     */
+    private Map<Long, WeeklySlotBitmap> loadAvailability(List<Team> teams) {
+        Map<Long, WeeklySlotBitmap> bitmaps = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Team team : teams) {
+            if (team.getAvailabilitySlots() != null) {
+                bitmaps.put(team.getId(), WeeklySlotBitmap.fromBytes(team.getAvailabilitySlots()));
+            } else {
+                missing.add(team.getId());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, List<TeamAvailability>> byTeam = availabilityRepository.findByTeamIdInAndAvailableTrue(missing)
+                    .stream()
+                    .collect(Collectors.groupingBy(a -> a.getTeam().getId()));
+            for (Long teamId : missing) {
+                bitmaps.put(teamId, WeeklySlotBitmap.fromAvailabilities(byTeam.getOrDefault(teamId, List.of())));
+            }
+        }
+        return bitmaps;
+    }
+}
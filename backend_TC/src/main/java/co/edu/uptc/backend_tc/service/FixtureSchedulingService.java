@@ -0,0 +1,100 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Programación de horario y escenario de fixtures ya emparejados.
+ *
+ * Para un torneo completo cada categoría se programa en paralelo en el pool
+ * {@code fixtureGenerationExecutor}, sobre su propia copia del scheduler. Como las
+ * categorías no comparten equipos, los únicos choques posibles entre ellas son de
+ * escenario; un paso final de fusión conserva cada partido donde quedó si el escenario
+ * sigue libre y reprograma solo los que chocan. No toca la base de datos.
+ */
+@Service
+public class FixtureSchedulingService {
+
+    private static final Logger log = LoggerFactory.getLogger(FixtureSchedulingService.class);
+
+    private final FixtureOptimizer fixtureOptimizer;
+    private final TaskExecutor executor;
+
+    public FixtureSchedulingService(FixtureOptimizer fixtureOptimizer,
+                                    @Qualifier("fixtureGenerationExecutor") TaskExecutor executor) {
+        this.fixtureOptimizer = fixtureOptimizer;
+        this.executor = executor;
+    }
+
+    /**
+     * Resultado de programar varias categorías: el scheduler con la ocupación final y los
+     * partidos en orden de categoría.
+     */
+    public record Schedule(FixtureScheduler scheduler, List<Match> matches) {
+    }
+
+    /**
+     * Programa las rondas con el scheduler y, en modo "optimized", refina el resultado
+     * dentro del presupuesto de tiempo.
+     */
+    public List<Match> schedule(FixtureScheduler scheduler, String mode,
+                                Collection<List<List<Match>>> roundsByCategory, Long timeBudgetMs) {
+        List<Match> matches = scheduler.scheduleRounds(roundsByCategory);
+        if ("optimized".equals(mode)) {
+            fixtureOptimizer.optimize(scheduler, matches, timeBudgetMs);
+        }
+        return matches;
+    }
+
+    /**
+     * Programa cada categoría en paralelo partiendo de la ocupación de base y luego
+     * fusiona los resultados resolviendo los choques de escenario. El presupuesto de
+     * optimización es del torneo completo y se reparte entre las categorías, cuyas cadenas
+     * corren en el mismo pool del optimizador.
+     */
+    public Schedule scheduleByCategory(FixtureScheduler base, String mode,
+                                       Map<Long, List<List<Match>>> roundsByCategory, Long timeBudgetMs) {
+        Long categoryBudgetMs = "optimized".equals(mode)
+                ? fixtureOptimizer.budgetFor(timeBudgetMs, roundsByCategory.size()) : null;
+        Map<Long, CompletableFuture<List<Match>>> running = new LinkedHashMap<>();
+        roundsByCategory.forEach((categoryId, rounds) -> running.put(categoryId, CompletableFuture.supplyAsync(
+                () -> schedule(base.fork(), mode, List.of(rounds), categoryBudgetMs), executor)));
+
+        Map<Long, List<Match>> scheduled = new LinkedHashMap<>();
+        try {
+            running.forEach((categoryId, future) -> scheduled.put(categoryId, future.join()));
+        } catch (CompletionException e) {
+            running.values().forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+
+        // Fusión: primero los partidos más tempranos, para que se conserven los que no chocan
+        FixtureScheduler merged = base.fork();
+        List<Match> ordered = new ArrayList<>();
+        scheduled.values().forEach(ordered::addAll);
+        ordered.sort(Comparator.comparing(Match::getStartsAt, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int moved = 0;
+        for (Match match : ordered) {
+            if (!merged.keepOrReassign(match)) {
+                moved++;
+            }
+        }
+
+        log.info("🗓️ Fixture de {} categorías programado en paralelo: {} partidos, {} reprogramados al fusionar",
+                scheduled.size(), ordered.size(), moved);
+
+        List<Match> matches = new ArrayList<>();
+        scheduled.values().forEach(matches::addAll);
+        return new Schedule(merged, matches);
+    }
+}
@@ -1,5 +1,7 @@
 package co.edu.uptc.backend_tc.service;
 
+import co.edu.uptc.backend_tc.dto.response.FixturePreviewDTO;
+import co.edu.uptc.backend_tc.dto.response.FixturePreviewMatchDTO;
 import co.edu.uptc.backend_tc.entity.*;
 import co.edu.uptc.backend_tc.exception.BadRequestException;
 import co.edu.uptc.backend_tc.exception.BusinessException;
@@ -13,9 +15,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.DayOfWeek;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,13 +27,183 @@ public class FixtureService {
     private final TeamRepository teamRepository;
     private final CategoryRepository categoryRepository;
     private final MatchRepository matchRepository;
-    private final TeamAvailabilityRepository availabilityRepository;
+    private final ScenarioRepository scenarioRepository;
+    private final FixtureSchedulerFactory schedulerFactory;
+    private final FixtureSchedulingService schedulingService;
+    private final FixturePreviewCache previewCache;
+    private final BracketService bracketService;
+    private final StandingService standingService;
 
     /**
      * Genera el fixture de un torneo según el modo seleccionado.
      */
     @Transactional
     public int generateFixture(Long tournamentId, Long categoryId, String mode) {
+        return generateFixture(tournamentId, categoryId, mode, null);
+    }
+
+    /**
+     * Igual que {@link #generateFixture(Long, Long, String)}; en modo "optimized" el
+     * optimizador busca durante timeBudgetMs (o el presupuesto configurado si es null).
+     */
+    @Transactional
+    public int generateFixture(Long tournamentId, Long categoryId, String mode, Long timeBudgetMs) {
+        FixturePlan plan = planCategory(tournamentId, categoryId, mode, timeBudgetMs);
+        ensureScheduled(FixtureQuality.evaluate(plan.scheduler(), plan.matches()));
+
+        // Eliminar fixture existente
+        deleteFixture(tournamentId, categoryId);
+
+        // Validar que la lista no esté vacía antes de guardar
+        if (plan.matches().isEmpty()) {
+            return 0;
+        }
+
+        matchRepository.saveAll(plan.matches());
+        plan.brackets().forEach(bracketService::save);
+        return plan.matches().size();
+    }
+
+    /**
+     * Genera el fixture de todas las categorías de un torneo: cada categoría se programa en
+     * paralelo, los choques de escenario entre ellas se resuelven al fusionar y todo se
+     * guarda en una sola transacción. Devuelve los partidos creados por categoría.
+     */
+    @Transactional
+    public Map<Long, Integer> generateTournamentFixture(Long tournamentId, String mode) {
+        return generateTournamentFixture(tournamentId, mode, null);
+    }
+
+    @Transactional
+    public Map<Long, Integer> generateTournamentFixture(Long tournamentId, String mode, Long timeBudgetMs) {
+        FixturePlan plan = planTournament(tournamentId, mode, timeBudgetMs);
+        ensureScheduled(FixtureQuality.evaluate(plan.scheduler(), plan.matches()));
+
+        for (Long categoryId : plan.matchesByCategory().keySet()) {
+            deleteFixture(tournamentId, categoryId);
+        }
+        matchRepository.saveAll(plan.matches());
+        plan.brackets().forEach(bracketService::save);
+        return plan.matchesByCategory();
+    }
+
+    /**
+     * Arma el fixture en memoria, sin borrar ni guardar nada, y lo deja en caché para
+     * confirmarlo después con {@link #commitPreview(String)}. Si categoryId es null se
+     * programa todo el torneo.
+     */
+    public FixturePreviewDTO previewFixture(Long tournamentId, Long categoryId, String mode, Long timeBudgetMs) {
+        FixturePlan plan = categoryId != null
+                ? planCategory(tournamentId, categoryId, mode, timeBudgetMs)
+                : planTournament(tournamentId, mode, timeBudgetMs);
+
+        FixtureQuality quality = FixtureQuality.evaluate(plan.scheduler(), plan.matches());
+        List<FixturePreviewMatchDTO> matches = plan.matches().stream()
+                .map(this::toPreviewMatch)
+                .collect(Collectors.toList());
+
+        return previewCache.put(FixturePreviewDTO.builder()
+                .tournamentId(tournamentId)
+                .categoryId(categoryId)
+                .mode(normalizeMode(mode))
+                .totalMatches(matches.size())
+                .matchesByCategory(plan.matchesByCategory())
+                .teamConflicts(quality.teamConflicts())
+                .scenarioConflicts(quality.scenarioConflicts())
+                .restViolations(quality.restViolations())
+                .outsideAvailability(quality.outsideAvailability())
+                .unscheduledMatches(quality.unscheduled())
+                .matches(matches)
+                .bracketSlots(plan.brackets().isEmpty() ? null : plan.brackets().stream()
+                        .collect(Collectors.toMap(BracketService.Bracket::categoryId, BracketService.Bracket::slots)))
+                .build());
+    }
+
+    public FixturePreviewDTO getPreview(String token) {
+        return previewCache.get(token)
+                .orElseThrow(() -> new ResourceNotFoundException("FixturePreview", "token", token));
+    }
+
+    /**
+     * Guarda una vista previa tal como se generó: reemplaza el fixture de sus categorías
+     * e inserta todos los partidos en un solo saveAll. El token deja de ser válido.
+     */
+    @Transactional
+    public Map<Long, Integer> commitPreview(String token) {
+        FixturePreviewDTO preview = previewCache.take(token)
+                .orElseThrow(() -> new ResourceNotFoundException("FixturePreview", "token", token));
+
+        ensureScheduled(countOf(preview.getUnscheduledMatches()),
+                countOf(preview.getTeamConflicts()) + countOf(preview.getScenarioConflicts()));
+
+        Long tournamentId = preview.getTournamentId();
+        Tournament tournament = findSchedulableTournament(tournamentId);
+        Set<Long> categoryIds = preview.getMatchesByCategory().keySet();
+
+        // Pudieron empezar partidos desde que se generó la vista previa
+        ensureNotStarted(matchRepository.findByTournamentId(tournamentId).stream()
+                .filter(m -> categoryIds.contains(m.getCategory().getId()))
+                .collect(Collectors.toList()));
+
+        for (Long categoryId : categoryIds) {
+            deleteFixture(tournamentId, categoryId);
+        }
+
+        // Los cuadros de eliminación se rearman con el mismo sorteo y conservan el horario
+        Map<Long, List<Long>> bracketSlots = preview.getBracketSlots() != null ? preview.getBracketSlots() : Map.of();
+        Map<List<Long>, FixturePreviewMatchDTO> previewByPairing = new HashMap<>();
+        for (FixturePreviewMatchDTO m : preview.getMatches()) {
+            previewByPairing.put(List.of(m.getCategoryId(), m.getHomeTeamId(), m.getAwayTeamId()), m);
+        }
+        List<BracketService.Bracket> brackets = new ArrayList<>();
+        List<Match> bracketMatches = new ArrayList<>();
+        bracketSlots.forEach((categoryId, slots) -> {
+            Map<Long, Team> teamsById = new HashMap<>();
+            slots.stream().filter(Objects::nonNull)
+                    .forEach(teamId -> teamsById.put(teamId, teamRepository.getReferenceById(teamId)));
+            BracketService.Bracket bracket = bracketService.build(
+                    tournament, categoryRepository.getReferenceById(categoryId), slots, teamsById);
+            for (List<Match> round : bracket.rounds()) {
+                for (Match match : round) {
+                    FixturePreviewMatchDTO m = previewByPairing.get(
+                            List.of(categoryId, match.getHomeTeam().getId(), match.getAwayTeam().getId()));
+                    match.setStartsAt(m.getStartsAt());
+                    match.setScenario(m.getScenarioId() != null ? scenarioRepository.getReferenceById(m.getScenarioId()) : null);
+                    bracketMatches.add(match);
+                }
+            }
+            brackets.add(bracket);
+        });
+
+        List<Match> matches = preview.getMatches().stream()
+                .filter(m -> !bracketSlots.containsKey(m.getCategoryId()))
+                .map(m -> Match.builder()
+                        .tournament(tournament)
+                        .category(categoryRepository.getReferenceById(m.getCategoryId()))
+                        .homeTeam(teamRepository.getReferenceById(m.getHomeTeamId()))
+                        .awayTeam(teamRepository.getReferenceById(m.getAwayTeamId()))
+                        .scenario(m.getScenarioId() != null ? scenarioRepository.getReferenceById(m.getScenarioId()) : null)
+                        .startsAt(m.getStartsAt())
+                        .swissRound(m.getSwissRound())
+                        .status(MatchStatus.SCHEDULED)
+                        .build())
+                .collect(Collectors.toList());
+        matches.addAll(bracketMatches);
+        matchRepository.saveAll(matches);
+        brackets.forEach(bracketService::save);
+
+        return preview.getMatchesByCategory();
+    }
+
+    /**
+     * Fixture programado en memoria junto con el scheduler que lo produjo y, en modo
+     * eliminación, los cuadros por guardar después de los partidos.
+     */
+    private record FixturePlan(FixtureScheduler scheduler, List<Match> matches, Map<Long, Integer> matchesByCategory,
+                               List<BracketService.Bracket> brackets) {
+    }
+
+    private FixturePlan planCategory(Long tournamentId, Long categoryId, String mode, Long timeBudgetMs) {
         // Validar parámetros de entrada
         if (tournamentId == null) {
             throw new BadRequestException("Tournament ID is required");
@@ -46,69 +215,235 @@ public class FixtureService {
             throw new BadRequestException("Mode is required");
         }
 
+        Tournament tournament = findSchedulableTournament(tournamentId);
+
+        // Verificar categoría
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+
+        // Filtrar equipos aprobados
+        List<Team> teams = teamRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId)
+                .stream()
+                .filter(this::isApproved)
+                .collect(Collectors.toList());
+
+        if (teams.size() < 2) {
+            throw new BusinessException("No hay suficientes equipos aprobados (mínimo 2)", "INSUFFICIENT_TEAMS");
+        }
+
+        // Validar que no haya partidos en curso o finalizados
+        ensureNotStarted(matchRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId));
+
+        String normalizedMode = normalizeMode(mode);
+        List<BracketService.Bracket> brackets = new ArrayList<>();
+        List<List<Match>> rounds = buildRounds(normalizedMode, tournament, category, teams, brackets);
+
+        // Programar horario y escenario teniendo en cuenta lo que ya ocupa los escenarios
+        // (el fixture actual de la categoría se va a reemplazar, así que no cuenta)
+        FixtureScheduler scheduler = schedulerFactory.create(tournament, teams, Set.of(categoryId));
+        List<Match> matches = schedulingService.schedule(scheduler, normalizedMode, List.of(rounds), timeBudgetMs);
+
+        Map<Long, Integer> matchesByCategory = new LinkedHashMap<>();
+        matchesByCategory.put(categoryId, matches.size());
+        return new FixturePlan(scheduler, matches, matchesByCategory, brackets);
+    }
+
+    private FixturePlan planTournament(Long tournamentId, String mode, Long timeBudgetMs) {
+        if (tournamentId == null) {
+            throw new BadRequestException("Tournament ID is required");
+        }
+        if (mode == null || mode.trim().isEmpty()) {
+            throw new BadRequestException("Mode is required");
+        }
+
+        Tournament tournament = findSchedulableTournament(tournamentId);
+
+        // Equipos aprobados agrupados por categoría (las de menos de 2 equipos se omiten)
+        List<Team> teams = teamRepository.findByTournamentId(tournamentId)
+                .stream()
+                .filter(this::isApproved)
+                .collect(Collectors.toList());
+        Map<Long, List<Team>> teamsByCategory = teams.stream()
+                .collect(Collectors.groupingBy(t -> t.getCategory().getId(), TreeMap::new, Collectors.toList()));
+        teamsByCategory.values().removeIf(categoryTeams -> categoryTeams.size() < 2);
+
+        if (teamsByCategory.isEmpty()) {
+            throw new BusinessException("No hay suficientes equipos aprobados (mínimo 2)", "INSUFFICIENT_TEAMS");
+        }
+
+        ensureNotStarted(matchRepository.findByTournamentId(tournamentId));
+
+        String normalizedMode = normalizeMode(mode);
+        Map<Long, List<List<Match>>> roundsByCategory = new LinkedHashMap<>();
+        List<BracketService.Bracket> brackets = new ArrayList<>();
+        for (Map.Entry<Long, List<Team>> entry : teamsByCategory.entrySet()) {
+            Category category = entry.getValue().get(0).getCategory();
+            roundsByCategory.put(entry.getKey(), buildRounds(normalizedMode, tournament, category, entry.getValue(), brackets));
+        }
+
+        // Cada categoría se programa en paralelo y luego se fusionan los escenarios compartidos
+        FixtureScheduler base = schedulerFactory.create(tournament, teams, teamsByCategory.keySet());
+        FixtureSchedulingService.Schedule schedule =
+                schedulingService.scheduleByCategory(base, normalizedMode, roundsByCategory, timeBudgetMs);
+
+        Map<Long, Integer> matchesByCategory = new LinkedHashMap<>();
+        roundsByCategory.forEach((categoryId, rounds) ->
+                matchesByCategory.put(categoryId, rounds.stream().mapToInt(List::size).sum()));
+        return new FixturePlan(schedule.scheduler(), schedule.matches(), matchesByCategory, brackets);
+    }
+
+    private FixturePreviewMatchDTO toPreviewMatch(Match match) {
+        return FixturePreviewMatchDTO.builder()
+                .categoryId(match.getCategory().getId())
+                .homeTeamId(match.getHomeTeam().getId())
+                .homeTeamName(match.getHomeTeam().getName())
+                .awayTeamId(match.getAwayTeam().getId())
+                .awayTeamName(match.getAwayTeam().getName())
+                .scenarioId(match.getScenario() != null ? match.getScenario().getId() : null)
+                .scenarioName(match.getScenario() != null ? match.getScenario().getName() : null)
+                .startsAt(match.getStartsAt())
+                .swissRound(match.getSwissRound())
+                .build();
+    }
+
+    private Tournament findSchedulableTournament(Long tournamentId) {
         // Verificar torneo
         Tournament tournament = tournamentRepository.findById(tournamentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tournament", "id", tournamentId));
 
         // Validar que el torneo no esté en estado inconsistente (OPEN_FOR_INSCRIPTION con startDate pasada)
-        if (tournament.getStatus() == TournamentStatus.OPEN_FOR_INSCRIPTION 
+        if (tournament.getStatus() == TournamentStatus.OPEN_FOR_INSCRIPTION
                 && tournament.getStartDate().isBefore(LocalDate.now())) {
             throw new BusinessException(
                     "No se puede generar el fixture: el torneo está en estado 'Inscripciones Abiertas' pero la fecha de inicio ya pasó. Por favor, cambie el estado del torneo a 'En Curso' primero",
                     "INCONSISTENT_TOURNAMENT_STATUS"
             );
         }
+        return tournament;
+    }
 
-        // Verificar categoría
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+    private boolean isApproved(Team team) {
+        return team.getOriginInscription() != null &&
+                team.getOriginInscription().getStatus() == InscriptionStatus.APPROVED;
+    }
 
-        // Filtrar equipos aprobados
-        List<Team> teams = teamRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId)
-                .stream()
-                .filter(t -> t.getOriginInscription() != null &&
-                        t.getOriginInscription().getStatus() == InscriptionStatus.APPROVED)
-                .collect(Collectors.toList());
+    private void ensureScheduled(FixtureQuality quality) {
+        ensureScheduled(quality.unscheduled(), quality.teamConflicts() + quality.scenarioConflicts());
+    }
 
-        if (teams.size() < 2) {
-            throw new BusinessException("No hay suficientes equipos aprobados (mínimo 2)", "INSUFFICIENT_TEAMS");
+    /**
+     * Un fixture solo se guarda si todos sus partidos tienen horario y ninguno choca con
+     * otro por equipo o escenario.
+     */
+    private void ensureScheduled(int unscheduled, int conflicts) {
+        if (unscheduled > 0) {
+            throw new BusinessException("No hay horarios libres dentro de las fechas del torneo para " + unscheduled
+                    + " partido(s); amplíe las fechas o agregue escenarios", "FIXTURE_UNSCHEDULABLE");
         }
+        if (conflicts > 0) {
+            throw new BusinessException("El fixture tiene " + conflicts + " choque(s) de equipo o escenario; "
+                    + "amplíe las fechas o agregue escenarios", "FIXTURE_UNSCHEDULABLE");
+        }
+    }
 
-        // Validar que no haya partidos en curso o finalizados
-        List<Match> existingMatches = matchRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId);
+    private static int countOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private void ensureNotStarted(List<Match> existingMatches) {
         boolean hasInProgressOrFinished = existingMatches.stream()
                 .anyMatch(m -> m.getStatus() == MatchStatus.IN_PROGRESS || m.getStatus() == MatchStatus.FINISHED);
         if (hasInProgressOrFinished) {
             throw new BusinessException("No se puede regenerar el fixture: existen partidos en curso o finalizados",
                     "FIXTURE_ALREADY_STARTED");
         }
+    }
 
-        // Eliminar fixture existente
-        deleteFixture(tournamentId, categoryId);
-
-        // Normalizar modo
-        mode = mode.trim().toLowerCase();
+    private String normalizeMode(String mode) {
+        return mode.trim().toLowerCase();
+    }
 
-        List<Match> generatedMatches;
-        switch (mode) {
-            case "round_robin" -> generatedMatches = generateRoundRobin(tournament, category, teams);
-            case "knockout" -> generatedMatches = generateKnockout(tournament, category, teams);
+    /**
+     * Emparejamientos del modo seleccionado, agrupados por ronda y aún sin horario.
+     * Los modos de eliminación agregan su cuadro a brackets.
+     */
+    private List<List<Match>> buildRounds(String mode, Tournament tournament, Category category, List<Team> teams,
+                                          List<BracketService.Bracket> brackets) {
+        return switch (mode) {
+            case "round_robin" -> generateRoundRobin(tournament, category, new ArrayList<>(teams));
+            case "double_round_robin" -> generateDoubleRoundRobin(tournament, category, teams);
+            // Solo la primera ronda; las siguientes salen de la tabla con generateNextSwissRound
+            case "swiss" -> List.of(generateSwissRound(tournament, category, teams, List.of()));
+            case "knockout" -> generateKnockout(tournament, category, teams, false, brackets);
+            case "knockout_seeded" -> generateKnockout(tournament, category, teams, true, brackets);
+            // Mismos emparejamientos que round_robin; el horario lo mejora el optimizador
+            case "optimized" -> generateRoundRobin(tournament, category, new ArrayList<>(teams));
             default -> throw new BadRequestException("Modo de fixture inválido: " + mode);
+        };
+    }
+
+    /**
+     * Genera la siguiente ronda de un fixture suizo a partir de la tabla de posiciones
+     * actual. Requiere que la ronda anterior esté terminada; el torneo suizo dura
+     * ceil(log2(n)) rondas, así que el total de partidos es O(n log n).
+     */
+    @Transactional
+    public int generateNextSwissRound(Long tournamentId, Long categoryId) {
+        if (tournamentId == null) {
+            throw new BadRequestException("Tournament ID is required");
+        }
+        if (categoryId == null) {
+            throw new BadRequestException("Category ID is required");
         }
 
-        // Validar que la lista no sea null antes de guardar
-        if (generatedMatches == null || generatedMatches.isEmpty()) {
-            return 0;
+        Tournament tournament = findSchedulableTournament(tournamentId);
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+
+        List<Team> teams = teamRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId)
+                .stream()
+                .filter(this::isApproved)
+                .collect(Collectors.toList());
+        if (teams.size() < 2) {
+            throw new BusinessException("No hay suficientes equipos aprobados (mínimo 2)", "INSUFFICIENT_TEAMS");
+        }
+
+        List<Match> previous = matchRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId).stream()
+                .filter(m -> m.getStatus() != MatchStatus.CANCELLED)
+                .collect(Collectors.toList());
+        if (previous.isEmpty()) {
+            throw new BusinessException("Primero genere la ronda inicial con el modo 'swiss'", "SWISS_NOT_STARTED");
+        }
+        if (previous.stream().anyMatch(m -> m.getStatus() != MatchStatus.FINISHED)) {
+            throw new BusinessException("La ronda actual del sistema suizo aún no ha terminado", "SWISS_ROUND_IN_PROGRESS");
         }
 
-        matchRepository.saveAll(generatedMatches);
-        return generatedMatches.size();
+        int roundsPlayed = swissRoundsPlayed(previous);
+        int totalRounds = 32 - Integer.numberOfLeadingZeros(teams.size() - 1);
+        if (roundsPlayed >= totalRounds) {
+            throw new BusinessException("El sistema suizo ya completó sus " + totalRounds + " rondas", "SWISS_COMPLETED");
+        }
+
+        List<Match> round = generateSwissRound(tournament, category, teams, previous);
+
+        // Programar después del último partido jugado
+        FixtureScheduler scheduler = schedulerFactory.create(tournament, teams, Set.of());
+        previous.stream()
+                .map(Match::getStartsAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .ifPresent(last -> scheduler.notBefore(last.toLocalDate().plusDays(1)));
+        List<Match> matches = schedulingService.schedule(scheduler, "swiss", List.of(List.of(round)), null);
+        ensureScheduled(FixtureQuality.evaluate(scheduler, matches));
+
+        matchRepository.saveAll(matches);
+        return matches.size();
     }
 
     /**
      * Genera un fixture tipo "todos contra todos".
      */
-    private List<Match> generateRoundRobin(Tournament tournament, Category category, List<Team> teams) {
+    private List<List<Match>> generateRoundRobin(Tournament tournament, Category category, List<Team> teams) {
         int numTeams = teams.size();
         boolean hasBye = (numTeams % 2 != 0);
 
@@ -116,201 +451,158 @@ public class FixtureService {
 
         int rounds = teams.size() - 1;
         int matchesPerRound = teams.size() / 2;
-        List<Match> matches = new ArrayList<>();
+        List<List<Match>> fixture = new ArrayList<>();
         List<Team> rotated = new ArrayList<>(teams);
 
         for (int round = 0; round < rounds; round++) {
+            List<Match> matches = new ArrayList<>();
             for (int i = 0; i < matchesPerRound; i++) {
                 Team home = rotated.get(i);
                 Team away = rotated.get(rotated.size() - 1 - i);
 
                 if (home == null || away == null) continue; // bye
 
-                LocalDateTime matchTime = findCompatibleSlot(home, away, tournament, matches);
-
-                matches.add(Match.builder()
-                        .tournament(tournament)
-                        .category(category)
-                        .homeTeam(home)
-                        .awayTeam(away)
-                        .status(MatchStatus.SCHEDULED)
-                        .startsAt(matchTime)
-                        .build());
+                matches.add(newMatch(tournament, category, home, away));
             }
+            fixture.add(matches);
 
             // Rotar los equipos, dejando el primero fijo
             rotated.add(1, rotated.remove(rotated.size() - 1));
         }
 
-        return matches;
+        return fixture;
     }
 
     /**
-     * Genera un fixture tipo eliminación directa.
+     * Todos contra todos a ida y vuelta: la segunda vuelta repite las rondas de la primera
+     * con la localía invertida.
      */
-    private List<Match> generateKnockout(Tournament tournament, Category category, List<Team> teams) {
-        Collections.shuffle(teams);
-        List<Match> matches = new ArrayList<>();
-
-        for (int i = 0; i < teams.size(); i += 2) {
-            if (i + 1 >= teams.size()) break; // impar queda libre
-
-            Team home = teams.get(i);
-            Team away = teams.get(i + 1);
-
-            LocalDateTime matchTime = findCompatibleSlot(home, away, tournament, matches);
-
-            matches.add(Match.builder()
-                    .tournament(tournament)
-                    .category(category)
-                    .homeTeam(home)
-                    .awayTeam(away)
-                    .status(MatchStatus.SCHEDULED)
-                    .startsAt(matchTime)
-                    .build());
+    private List<List<Match>> generateDoubleRoundRobin(Tournament tournament, Category category, List<Team> teams) {
+        List<List<Match>> firstLeg = generateRoundRobin(tournament, category, new ArrayList<>(teams));
+        List<List<Match>> fixture = new ArrayList<>(firstLeg);
+        for (List<Match> round : firstLeg) {
+            fixture.add(round.stream()
+                    .map(m -> newMatch(tournament, category, m.getAwayTeam(), m.getHomeTeam()))
+                    .collect(Collectors.toList()));
         }
-
-        return matches;
+        return fixture;
     }
 
     /**
-     * Busca un horario compatible entre dos equipos, considerando su disponibilidad semanal.
-     * Si no hay coincidencia, genera un horario por defecto dentro del rango del torneo.
-     * También valida que los equipos no tengan conflictos de horario con partidos ya generados.
+     * Una ronda del sistema suizo. Los equipos se ordenan por la tabla de posiciones; en la
+     * primera ronda la mitad superior enfrenta a la inferior (1 contra n/2 + 1) y en las
+     * siguientes cada equipo enfrenta al siguiente de la tabla con quien aún no haya jugado.
+     * Con número impar descansa el peor ubicado que todavía no haya descansado.
      */
-    private LocalDateTime findCompatibleSlot(Team teamA, Team teamB, Tournament tournament, List<Match> existingMatches) {
-        // Primero intentar encontrar horario compatible basado en disponibilidad
-        List<TeamAvailability> aAvail = availabilityRepository.findByTeamIdAndAvailableTrue(teamA.getId());
-        List<TeamAvailability> bAvail = availabilityRepository.findByTeamIdAndAvailableTrue(teamB.getId());
-
-        for (TeamAvailability a : aAvail) {
-            for (TeamAvailability b : bAvail) {
-                if (a.getDayOfWeek() == b.getDayOfWeek()
-                        && a.getStartTime().equals(b.getStartTime())
-                        && a.getEndTime().equals(b.getEndTime())) {
-
-                    LocalDateTime candidateTime = calculateNextMatchTime(a.getDayOfWeek(), a.getStartTime(), tournament);
-                    
-                    // Verificar que no haya conflicto con partidos ya generados
-                    if (!hasScheduleConflict(teamA, teamB, candidateTime, existingMatches)) {
-                        return candidateTime;
-                    }
+    private List<Match> generateSwissRound(Tournament tournament, Category category, List<Team> teams,
+                                           List<Match> previous) {
+        Map<Long, Integer> positions = new HashMap<>();
+        standingService.getStandingsWithPosition(tournament.getId(), category.getId())
+                .forEach(s -> positions.put(s.getTeam().getId(), s.getPosition()));
+
+        List<Team> ranked = new ArrayList<>(teams);
+        ranked.sort(Comparator.comparing((Team t) -> positions.getOrDefault(t.getId(), Integer.MAX_VALUE))
+                .thenComparing(Team::getId));
+
+        Set<List<Long>> played = new HashSet<>();
+        Map<Long, Integer> matchesPlayed = new HashMap<>();
+        for (Match m : previous) {
+            Long home = m.getHomeTeam().getId();
+            Long away = m.getAwayTeam().getId();
+            played.add(List.of(Math.min(home, away), Math.max(home, away)));
+            matchesPlayed.merge(home, 1, Integer::sum);
+            matchesPlayed.merge(away, 1, Integer::sum);
+        }
+
+        if (ranked.size() % 2 != 0) {
+            // Quien ya descansó tiene un partido menos que los demás
+            int most = ranked.stream().mapToInt(t -> matchesPlayed.getOrDefault(t.getId(), 0)).max().orElse(0);
+            for (int i = ranked.size() - 1; i >= 0; i--) {
+                if (matchesPlayed.getOrDefault(ranked.get(i).getId(), 0) == most) {
+                    ranked.remove(i);
+                    break;
                 }
             }
         }
 
-        // Si no hay coincidencia de disponibilidad, generar horario por defecto
-        // Usar horario predeterminado: Lunes a Viernes a las 14:00, dentro del rango del torneo
-        return generateDefaultMatchTime(tournament, existingMatches, teamA, teamB);
+        int swissRound = swissRoundsPlayed(previous) + 1;
+        List<Match> matches = new ArrayList<>();
+        if (previous.isEmpty()) {
+            int half = ranked.size() / 2;
+            for (int i = 0; i < half; i++) {
+                Match match = newMatch(tournament, category, ranked.get(i), ranked.get(i + half));
+                match.setSwissRound(swissRound);
+                matches.add(match);
+            }
+            return matches;
+        }
+
+        List<Team> unpaired = new LinkedList<>(ranked);
+        while (!unpaired.isEmpty()) {
+            Team team = unpaired.remove(0);
+            Team opponent = unpaired.stream()
+                    .filter(o -> !played.contains(List.of(Math.min(team.getId(), o.getId()), Math.max(team.getId(), o.getId()))))
+                    .findFirst()
+                    .orElse(unpaired.get(0)); // sin rival nuevo: se permite la revancha
+            unpaired.remove(opponent);
+            Match match = newMatch(tournament, category, team, opponent);
+            match.setSwissRound(swissRound);
+            matches.add(match);
+        }
+        return matches;
     }
 
     /**
-     * Calcula la próxima fecha y hora para un partido basado en el día de la semana y hora.
+     * Rondas suizas ya generadas según el número guardado en cada partido, que no depende
+     * de cuántos equipos estén aprobados ahora. Los partidos anteriores a ese campo se
+     * cuentan por el equipo que más jugó (nadie juega dos veces en una ronda).
      */
-    private LocalDateTime calculateNextMatchTime(DayOfWeek dayOfWeek, LocalTime startTime, Tournament tournament) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDate startDate = tournament.getStartDate();
-        
-        // Si la fecha de inicio del torneo es futura, usar esa como base
-        LocalDate baseDate = startDate.isAfter(now.toLocalDate()) ? startDate : now.toLocalDate();
-        LocalDateTime baseDateTime = baseDate.atTime(startTime);
-        
-        int todayValue = baseDateTime.getDayOfWeek().getValue();
-        int matchDayValue = dayOfWeek.getValue();
-        int daysUntilMatch = (matchDayValue - todayValue + 7) % 7;
-        
-        if (daysUntilMatch == 0) {
-            daysUntilMatch = 7; // siguiente semana
+    private static int swissRoundsPlayed(List<Match> previous) {
+        if (previous.stream().allMatch(m -> m.getSwissRound() != null)) {
+            return previous.stream().mapToInt(Match::getSwissRound).max().orElse(0);
         }
-        
-        LocalDateTime candidateTime = baseDateTime.plusDays(daysUntilMatch);
-        
-        // Asegurar que esté dentro del rango del torneo
-        if (candidateTime.toLocalDate().isAfter(tournament.getEndDate())) {
-            // Si se pasa del final, usar el primer día del torneo
-            candidateTime = tournament.getStartDate().atTime(startTime);
+        Map<Long, Integer> matchesPlayed = new HashMap<>();
+        for (Match m : previous) {
+            matchesPlayed.merge(m.getHomeTeam().getId(), 1, Integer::sum);
+            matchesPlayed.merge(m.getAwayTeam().getId(), 1, Integer::sum);
         }
-        
-        return candidateTime.withSecond(0).withNano(0);
+        return matchesPlayed.values().stream().mapToInt(Integer::intValue).max().orElse(0);
     }
 
     /**
-     * Genera un horario por defecto cuando no hay coincidencia de disponibilidad.
-     * Distribuye los partidos en diferentes días y horas para evitar conflictos.
+     * Genera un fixture tipo eliminación directa: el cuadro completo, con byes hasta la
+     * siguiente potencia de 2. Devuelve los partidos que ya se pueden programar.
      */
-    private LocalDateTime generateDefaultMatchTime(Tournament tournament, List<Match> existingMatches, Team teamA, Team teamB) {
-        LocalDate startDate = tournament.getStartDate();
-        LocalDate endDate = tournament.getEndDate();
-        
-        // Horario por defecto: Lunes a Viernes, de 14:00 a 16:00, con intervalos de 2 horas
-        LocalTime[] timeSlots = {LocalTime.of(14, 0), LocalTime.of(16, 0)};
-        
-        LocalDate currentDate = startDate.isAfter(LocalDate.now()) ? startDate : LocalDate.now();
-        
-        // Intentar encontrar un horario sin conflicto
-        for (int dayOffset = 0; dayOffset <= 30; dayOffset++) {
-            LocalDate candidateDate = currentDate.plusDays(dayOffset);
-            
-            // Verificar que esté dentro del rango del torneo
-            if (candidateDate.isAfter(endDate)) {
-                break;
-            }
-            
-            DayOfWeek dayOfWeek = candidateDate.getDayOfWeek();
-            
-            // Solo considerar días laborables (Lunes a Viernes)
-            if (dayOfWeek.getValue() >= DayOfWeek.MONDAY.getValue() && 
-                dayOfWeek.getValue() <= DayOfWeek.FRIDAY.getValue()) {
-                
-                for (LocalTime timeSlot : timeSlots) {
-                    LocalDateTime candidateTime = candidateDate.atTime(timeSlot);
-                    
-                    if (!hasScheduleConflict(teamA, teamB, candidateTime, existingMatches)) {
-                        return candidateTime;
-                    }
-                }
-            }
-        }
-        
-        // Si no se encuentra ningún horario sin conflicto, usar el primer día del torneo
-        return tournament.getStartDate().atTime(LocalTime.of(14, 0));
+    private List<List<Match>> generateKnockout(Tournament tournament, Category category, List<Team> teams,
+                                               boolean seeded, List<BracketService.Bracket> brackets) {
+        List<Long> slots = bracketService.seedSlots(tournament.getId(), category.getId(), teams, seeded);
+        Map<Long, Team> teamsById = teams.stream().collect(Collectors.toMap(Team::getId, t -> t));
+
+        BracketService.Bracket bracket = bracketService.build(tournament, category, slots, teamsById);
+        brackets.add(bracket);
+        return bracket.rounds();
     }
 
-    /**
-     * Verifica si un equipo tiene conflicto de horario (ya tiene otro partido a la misma hora y día).
-     */
-    private boolean hasScheduleConflict(Team teamA, Team teamB, LocalDateTime matchTime, List<Match> existingMatches) {
-        // Verificar conflictos para ambos equipos
-        for (Match match : existingMatches) {
-            LocalDateTime existingTime = match.getStartsAt();
-            if (existingTime == null) continue;
-            
-            // Verificar si es el mismo día y hora (con margen de 2 horas para considerar duración del partido)
-            boolean sameDay = existingTime.toLocalDate().equals(matchTime.toLocalDate());
-            boolean timeOverlap = Math.abs(java.time.Duration.between(existingTime, matchTime).toHours()) < 2;
-            
-            if (sameDay && timeOverlap) {
-                // Verificar si alguno de los equipos ya tiene partido a esa hora
-                if (match.getHomeTeam().getId().equals(teamA.getId()) || 
-                    match.getAwayTeam().getId().equals(teamA.getId()) ||
-                    match.getHomeTeam().getId().equals(teamB.getId()) || 
-                    match.getAwayTeam().getId().equals(teamB.getId())) {
-                    return true; // Hay conflicto
-                }
-            }
-        }
-        
-        return false; // No hay conflicto
+    private Match newMatch(Tournament tournament, Category category, Team home, Team away) {
+        return Match.builder()
+                .tournament(tournament)
+                .category(category)
+                .homeTeam(home)
+                .awayTeam(away)
+                .status(MatchStatus.SCHEDULED)
+                .build();
     }
 
     /**
-     * Elimina todos los partidos del fixture de una categoría en un torneo.
+     * Elimina todos los partidos del fixture de una categoría en un torneo, con sus
+     * resultados y eventos, en un número fijo de sentencias sin cargar los partidos.
      */
     @Transactional
     public void deleteFixture(Long tournamentId, Long categoryId) {
-        List<Match> matches = matchRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId);
-        if (!matches.isEmpty()) {
-            matchRepository.deleteAll(matches);
-        }
+        bracketService.deleteBracket(tournamentId, categoryId);
+        matchRepository.deleteEventsByTournamentIdAndCategoryId(tournamentId, categoryId);
+        matchRepository.deleteResultsByTournamentIdAndCategoryId(tournamentId, categoryId);
+        matchRepository.detachSanctionsByTournamentIdAndCategoryId(tournamentId, categoryId);
+        matchRepository.deleteByTournamentIdAndCategoryId(tournamentId, categoryId);
     }
-}
\ No newline at end of file
+}
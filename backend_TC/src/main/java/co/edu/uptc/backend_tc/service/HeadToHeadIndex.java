@@ -0,0 +1,99 @@
+package co.edu.uptc.backend_tc.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice compacto de enfrentamientos directos de una categoría.
+ *
+ * Cada equipo recibe una posición fija y los puntos y goles entre dos equipos se guardan
+ * en matrices primitivas planas ({@code [i * capacidad + j]}), así que consultar un
+ * enfrentamiento cuesta O(1) y no requiere volver a la base de datos.
+ */
+public class HeadToHeadIndex {
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    // Partidos sumados al índice, para no contar dos veces el mismo
+    private final Set<Long> recordedMatches = new HashSet<>();
+    private int capacity;
+    private int[] points;   // puntos obtenidos por i contra j
+    private int[] goals;    // goles marcados por i a j
+
+    public HeadToHeadIndex(int expectedTeams) {
+        this.capacity = Math.max(expectedTeams, 8);
+        this.points = new int[capacity * capacity];
+        this.goals = new int[capacity * capacity];
+    }
+
+    /**
+     * Suma (sign = 1) o resta (sign = -1) el resultado de un partido identificado. Sumar un
+     * partido ya sumado, o restar uno que no está, no cambia nada.
+     */
+    public void record(Long matchId, Long homeTeamId, Long awayTeamId, int homeScore, int awayScore, int sign) {
+        if (matchId != null) {
+            boolean changed = sign > 0 ? recordedMatches.add(matchId) : recordedMatches.remove(matchId);
+            if (!changed) return;
+        }
+        record(homeTeamId, awayTeamId, homeScore, awayScore, sign);
+    }
+
+    /**
+     * Suma (sign = 1) o resta (sign = -1) el resultado de un partido entre dos equipos.
+     */
+    public void record(Long homeTeamId, Long awayTeamId, int homeScore, int awayScore, int sign) {
+        int home = slotOf(homeTeamId);
+        int away = slotOf(awayTeamId);
+
+        goals[home * capacity + away] += sign * homeScore;
+        goals[away * capacity + home] += sign * awayScore;
+
+        if (homeScore > awayScore) {
+            points[home * capacity + away] += sign * 3;
+        } else if (homeScore < awayScore) {
+            points[away * capacity + home] += sign * 3;
+        } else {
+            points[home * capacity + away] += sign;
+            points[away * capacity + home] += sign;
+        }
+    }
+
+    public int points(Long teamId, Long opponentId) {
+        Integer team = slots.get(teamId);
+        Integer opponent = slots.get(opponentId);
+        return team == null || opponent == null ? 0 : points[team * capacity + opponent];
+    }
+
+    public int goals(Long teamId, Long opponentId) {
+        Integer team = slots.get(teamId);
+        Integer opponent = slots.get(opponentId);
+        return team == null || opponent == null ? 0 : goals[team * capacity + opponent];
+    }
+
+    private int slotOf(Long teamId) {
+        Integer slot = slots.get(teamId);
+        if (slot != null) {
+            return slot;
+        }
+        int next = slots.size();
+        if (next == capacity) {
+            grow();
+        }
+        slots.put(teamId, next);
+        return next;
+    }
+
+    private void grow() {
+        int newCapacity = capacity * 2;
+        int[] newPoints = new int[newCapacity * newCapacity];
+        int[] newGoals = new int[newCapacity * newCapacity];
+        for (int i = 0; i < capacity; i++) {
+            System.arraycopy(points, i * capacity, newPoints, i * newCapacity, capacity);
+            System.arraycopy(goals, i * capacity, newGoals, i * newCapacity, capacity);
+        }
+        capacity = newCapacity;
+        points = newPoints;
+        goals = newGoals;
+    }
+}
@@ -303,6 +303,7 @@ public class InscriptionService {
                 ta.setInscription(null);
             }
             teamAvailabilityRepository.saveAll(inscriptionAvail);
+            team.setAvailabilitySlots(WeeklySlotBitmap.fromAvailabilities(inscriptionAvail).toBytes());
         }
 
         // Marcar inscripción aprobada
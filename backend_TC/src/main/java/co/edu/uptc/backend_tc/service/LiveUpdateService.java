@@ -0,0 +1,210 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.LiveUpdateDTO;
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.model.LiveUpdateType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Actualizaciones en vivo de resultados y eventos por Server-Sent Events.
+ *
+ * Los servicios publican un {@link LiveUpdateDTO} como evento de aplicación; cuando la
+ * transacción hace commit se serializa una sola vez y se encola a cada suscriptor del
+ * torneo y categoría. Cada suscriptor tiene una cola acotada que se vacía en el pool
+ * {@code liveUpdatesExecutor} con a lo sumo una tarea por suscriptor, de modo que un
+ * cliente lento no retrasa a los demás; si su cola se llena se cierra la conexión y el
+ * cliente se vuelve a suscribir. Un suscriptor inactivo es solo un {@link SseEmitter} en
+ * memoria, sin hilo de Tomcat asociado.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final long emitterTimeoutMs;
+    private final int subscriberBuffer;
+
+    private final Map<ChannelKey, List<Subscriber>> channels = new ConcurrentHashMap<>();
+
+    public LiveUpdateService(ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             @Qualifier("liveUpdatesExecutor") TaskExecutor executor,
+                             @Value("${app.live.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                             @Value("${app.live.subscriber-buffer:32}") int subscriberBuffer) {
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.subscriberBuffer = Math.max(1, subscriberBuffer);
+    }
+
+    public SseEmitter subscribe(Long tournamentId, Long categoryId) {
+        ChannelKey key = new ChannelKey(tournamentId, categoryId);
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        List<Subscriber> subscribers = channels.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(key, subscriber));
+        emitter.onTimeout(() -> unsubscribe(key, subscriber));
+        emitter.onError(e -> unsubscribe(key, subscriber));
+
+        return emitter;
+    }
+
+    /**
+     * Publica el cambio de resultado de un partido; se envía solo si la transacción hace commit.
+     */
+    public void publishResult(LiveUpdateType type, Match match, Integer homeScore, Integer awayScore) {
+        eventPublisher.publishEvent(LiveUpdateDTO.builder()
+                .type(type)
+                .tournamentId(match.getTournament().getId())
+                .categoryId(match.getCategory().getId())
+                .matchId(match.getId())
+                .homeTeamId(match.getHomeTeam().getId())
+                .awayTeamId(match.getAwayTeam().getId())
+                .homeScore(homeScore)
+                .awayScore(awayScore)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    public void publish(LiveUpdateDTO update) {
+        eventPublisher.publishEvent(update);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLiveUpdate(LiveUpdateDTO update) {
+        List<Subscriber> subscribers = channels.get(new ChannelKey(update.getTournamentId(), update.getCategoryId()));
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            log.error("❌ Error al serializar actualización en vivo: {}", e.getMessage());
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .name(update.getType().name())
+                    .data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Comentario periódico para mantener abiertas las conexiones tras proxies y
+     * detectar los clientes que ya se fueron.
+     */
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        if (channels.isEmpty()) return;
+        channels.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    private void unsubscribe(ChannelKey key, Subscriber subscriber) {
+        channels.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * Conexión SSE con su cola de eventos pendientes. Solo una tarea del pool la vacía a
+     * la vez, así que los envíos a un mismo cliente salen en orden.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(subscriberBuffer);
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) return;
+            if (!pending.offer(event)) {
+                // Cliente que no alcanza a leer: se cierra para que se reconecte. El cierre lo
+                // hace la tarea de envío, para no esperar aquí a un send bloqueado
+                log.warn("⚠️ Suscriptor SSE lento con {} eventos pendientes; se cierra la conexión", pending.size());
+                closed = true;
+                pending.clear();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) return;
+            try {
+                executor.execute(this::drain);
+            } catch (TaskRejectedException e) {
+                // Ninguna tarea está enviando a este cliente, así que se puede cerrar aquí
+                log.warn("⚠️ Pool de actualizaciones en vivo saturado; se cierra un suscriptor");
+                closed = true;
+                pending.clear();
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = pending.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectado: onError/onCompletion lo quitan de la lista
+                    closed = true;
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            if (closed) {
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+            // Un evento (o un cierre) llegado justo después del último poll necesita otra pasada
+            if (closed || !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private record ChannelKey(Long tournamentId, Long categoryId) {
+    }
+}
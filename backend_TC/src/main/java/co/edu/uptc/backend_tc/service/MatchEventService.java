@@ -1,7 +1,10 @@
 package co.edu.uptc.backend_tc.service;
 
 import co.edu.uptc.backend_tc.dto.MatchEventDTO;
+import co.edu.uptc.backend_tc.dto.response.LiveUpdateDTO;
+import co.edu.uptc.backend_tc.dto.response.MatchEventBatchResponseDTO;
 import co.edu.uptc.backend_tc.dto.response.MatchEventResponseDTO;
+import co.edu.uptc.backend_tc.dto.response.TeamSummaryDTO;
 import co.edu.uptc.backend_tc.entity.Match;
 import co.edu.uptc.backend_tc.entity.MatchEvent;
 import co.edu.uptc.backend_tc.entity.Player;
@@ -10,16 +13,23 @@ import co.edu.uptc.backend_tc.exception.BusinessException;
 import co.edu.uptc.backend_tc.exception.ResourceNotFoundException;
 import co.edu.uptc.backend_tc.mapper.MatchEventMapper;
 import co.edu.uptc.backend_tc.mapper.TeamMapper;
+import co.edu.uptc.backend_tc.model.LiveUpdateType;
 import co.edu.uptc.backend_tc.model.MatchStatus;
 import co.edu.uptc.backend_tc.repository.MatchEventRepository;
 import co.edu.uptc.backend_tc.repository.MatchRepository;
 import co.edu.uptc.backend_tc.repository.PlayerRepository;
 import co.edu.uptc.backend_tc.repository.TeamRosterRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,25 +43,35 @@ public class MatchEventService {
     private final TeamRosterRepository teamRosterRepository;
     private final MatchEventMapper matchEventMapper;
     private final TeamMapper teamMapper;
+    private final LiveUpdateService liveUpdateService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final Logger log = LoggerFactory.getLogger(MatchEventService.class);
+
+    private static final int MAX_BATCH_SIZE = 500;
 
     public List<MatchEventResponseDTO> getByMatch(Long matchId) {
-        Match match = matchRepository.findById(matchId)
+        // Dos consultas en total: el partido con sus equipos y los eventos con el equipo
+        // de cada jugador ya resuelto
+        Match match = matchRepository.findByIdWithTeams(matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
 
-        return matchEventRepository.findByMatchIdOrderByMinuteAsc(matchId)
-                .stream()
-                .map(event -> {
-                    // Determinar el equipo del jugador
-                    var team = event.getPlayer().getTeamRosters().stream()
-                            .filter(tr -> tr.getTeam().getId().equals(match.getHomeTeam().getId()) ||
-                                    tr.getTeam().getId().equals(match.getAwayTeam().getId()))
-                            .findFirst()
-                            .map(tr -> teamMapper.toSummaryDTO(tr.getTeam()))
-                            .orElse(null);
-
-                    return matchEventMapper.toResponseDTO(event, team);
-                })
-                .collect(Collectors.toList());
+        Map<Long, TeamSummaryDTO> teams = new HashMap<>();
+        if (match.getHomeTeam() != null) {
+            teams.put(match.getHomeTeam().getId(), teamMapper.toSummaryDTO(match.getHomeTeam()));
+        }
+        if (match.getAwayTeam() != null) {
+            teams.put(match.getAwayTeam().getId(), teamMapper.toSummaryDTO(match.getAwayTeam()));
+        }
+
+        // Un jugador en ambos rosters trae dos filas; se conserva la primera
+        Map<Long, MatchEventResponseDTO> timeline = new LinkedHashMap<>();
+        for (Object[] row : matchEventRepository.findTimelineByMatchId(matchId)) {
+            MatchEvent event = (MatchEvent) row[0];
+            TeamSummaryDTO team = row[1] != null ? teams.get((Long) row[1]) : null;
+            timeline.putIfAbsent(event.getId(), matchEventMapper.toResponseDTO(event, team));
+        }
+        return new ArrayList<>(timeline.values());
     }
 
     public List<MatchEventDTO> getByPlayer(Long playerId) {
@@ -61,8 +81,29 @@ public class MatchEventService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
+    /**
+     * Registra un evento. Si dos reintentos con la misma clave de idempotencia llegan a la
+     * vez, el segundo en confirmar choca con {@code uk_match_event_idempotency}; su
+     * transacción se deshace y se devuelve el evento que registró el primero.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MatchEventDTO create(MatchEventDTO dto) {
+        try {
+            return transactionTemplate.execute(status -> register(dto));
+        } catch (DataIntegrityViolationException e) {
+            if (dto.getIdempotencyKey() == null) {
+                throw e;
+            }
+            log.warn("⚠️ Evento {} del partido {} registrado en paralelo; se relee la clave",
+                    dto.getIdempotencyKey(), dto.getMatchId());
+            return transactionTemplate.execute(status -> matchEventRepository
+                    .findByMatchIdAndIdempotencyKey(dto.getMatchId(), dto.getIdempotencyKey())
+                    .map(matchEventMapper::toDTO)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    private MatchEventDTO register(MatchEventDTO dto) {
         // Verificar partido
         Match match = matchRepository.findById(dto.getMatchId())
                 .orElseThrow(() -> new ResourceNotFoundException("Match", "id", dto.getMatchId()));
@@ -76,6 +117,15 @@ public class MatchEventService {
         }
 
 
+        // Reintento de un evento ya registrado
+        if (dto.getIdempotencyKey() != null) {
+            Optional<MatchEvent> existing = matchEventRepository
+                    .findByMatchIdAndIdempotencyKey(match.getId(), dto.getIdempotencyKey());
+            if (existing.isPresent()) {
+                return matchEventMapper.toDTO(existing.get());
+            }
+        }
+
         // Verificar jugador
         Player player = playerRepository.findById(dto.getPlayerId())
                 .orElseThrow(() -> new ResourceNotFoundException("Player", "id", dto.getPlayerId()));
@@ -99,10 +149,152 @@ public class MatchEventService {
         }
 
         MatchEvent event = matchEventMapper.toEntity(dto, match, player);
-        event = matchEventRepository.save(event);
+        // flush aquí para que un choque de claves salga dentro de la transacción del evento
+        event = matchEventRepository.saveAndFlush(event);
+
+        liveUpdateService.publish(LiveUpdateDTO.builder()
+                .type(LiveUpdateType.MATCH_EVENT)
+                .tournamentId(match.getTournament().getId())
+                .categoryId(match.getCategory().getId())
+                .matchId(match.getId())
+                .eventId(event.getId())
+                .eventType(event.getType())
+                .playerId(player.getId())
+                .minute(event.getMinute())
+                .occurredAt(LocalDateTime.now())
+                .build());
+
         return matchEventMapper.toDTO(event);
     }
 
+    /**
+     * Registra en orden una lista de eventos de un partido. Los rosters de ambos equipos
+     * se cargan una sola vez para validar a todos los jugadores y los eventos se insertan
+     * con saveAll (lotes JDBC, ids de la secuencia en bloques). Si algún evento es inválido
+     * no se registra ninguno. Los elementos cuya clave de idempotencia ya existe en el
+     * partido, o que repiten una clave del mismo lote, devuelven el evento existente.
+     *
+     * Si dos reintentos del mismo lote llegan a la vez, ambos pueden no ver las claves y el
+     * segundo en confirmar choca con {@code uk_match_event_idempotency}; esa transacción se
+     * deshace y el lote se procesa otra vez, ahora encontrando los eventos del primero.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MatchEventBatchResponseDTO createBatch(Long matchId, List<MatchEventDTO> dtos) {
+        try {
+            return transactionTemplate.execute(status -> registerBatch(matchId, dtos));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("⚠️ Lote de eventos del partido {} registrado en paralelo; se releen las claves", matchId);
+            return transactionTemplate.execute(status -> registerBatch(matchId, dtos));
+        }
+    }
+
+    private MatchEventBatchResponseDTO registerBatch(Long matchId, List<MatchEventDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BadRequestException("The batch must contain at least one event");
+        }
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch cannot contain more than " + MAX_BATCH_SIZE + " events");
+        }
+
+        Match match = matchRepository.findByIdWithTeams(matchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Match", "id", matchId));
+        if (match.getStatus() == MatchStatus.CANCELLED) {
+            throw new BusinessException(
+                    "Cannot add events to a cancelled match",
+                    "INVALID_MATCH_STATUS"
+            );
+        }
+
+        // jugador -> equipo, con los rosters de los dos equipos en una consulta
+        List<Long> teamIds = new ArrayList<>();
+        if (match.getHomeTeam() != null) teamIds.add(match.getHomeTeam().getId());
+        if (match.getAwayTeam() != null) teamIds.add(match.getAwayTeam().getId());
+        Map<Long, Long> teamByPlayer = new HashMap<>();
+        if (!teamIds.isEmpty()) {
+            for (Object[] pair : teamRosterRepository.findPlayerTeamPairsByTeamIds(teamIds)) {
+                teamByPlayer.putIfAbsent((Long) pair[0], (Long) pair[1]);
+            }
+        }
+
+        // Validar todo el lote antes de insertar
+        Set<Long> notInMatch = new TreeSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            MatchEventDTO dto = dtos.get(i);
+            if (dto.getMatchId() != null && !dto.getMatchId().equals(matchId)) {
+                throw new BadRequestException("Event " + i + " belongs to another match");
+            }
+            if (dto.getPlayerId() == null || dto.getType() == null) {
+                throw new BadRequestException("Event " + i + " requires playerId and type");
+            }
+            if (dto.getMinute() != null && (dto.getMinute() < 0 || dto.getMinute() > 200)) {
+                throw new BadRequestException("Match minute must be between 0 and 200");
+            }
+            if (!teamByPlayer.containsKey(dto.getPlayerId())) {
+                notInMatch.add(dto.getPlayerId());
+            }
+        }
+        if (!notInMatch.isEmpty()) {
+            throw new BadRequestException(
+                    "Player is not part of any team in this match",
+                    "playerIds=" + notInMatch
+            );
+        }
+
+        // Claves ya registradas en el partido
+        Set<String> keys = dtos.stream()
+                .map(MatchEventDTO::getIdempotencyKey)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, MatchEvent> byKey = new HashMap<>();
+        if (!keys.isEmpty()) {
+            for (MatchEvent existing : matchEventRepository.findByMatchIdAndIdempotencyKeyIn(matchId, keys)) {
+                byKey.put(existing.getIdempotencyKey(), existing);
+            }
+        }
+
+        List<MatchEvent> ordered = new ArrayList<>(dtos.size());
+        List<MatchEvent> toInsert = new ArrayList<>();
+        for (MatchEventDTO dto : dtos) {
+            String key = dto.getIdempotencyKey();
+            MatchEvent event = key != null ? byKey.get(key) : null;
+            if (event == null) {
+                // El jugador ya se validó con el roster: basta la referencia, sin consultarlo
+                event = matchEventMapper.toEntity(dto, match, playerRepository.getReferenceById(dto.getPlayerId()));
+                event.setId(null);
+                toInsert.add(event);
+                if (key != null) byKey.put(key, event);
+            }
+            ordered.add(event);
+        }
+        // flush aquí para que un choque de claves salga dentro de la transacción del lote
+        matchEventRepository.saveAllAndFlush(toInsert);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (MatchEvent event : toInsert) {
+            liveUpdateService.publish(LiveUpdateDTO.builder()
+                    .type(LiveUpdateType.MATCH_EVENT)
+                    .tournamentId(match.getTournament().getId())
+                    .categoryId(match.getCategory().getId())
+                    .matchId(match.getId())
+                    .eventId(event.getId())
+                    .eventType(event.getType())
+                    .playerId(event.getPlayer().getId())
+                    .minute(event.getMinute())
+                    .occurredAt(now)
+                    .build());
+        }
+
+        log.info("⚽ Lote de eventos del partido {}: {} registrados, {} repetidos",
+                matchId, toInsert.size(), dtos.size() - toInsert.size());
+
+        return MatchEventBatchResponseDTO.builder()
+                .matchId(matchId)
+                .created(toInsert.size())
+                .duplicates(dtos.size() - toInsert.size())
+                .events(ordered.stream().map(matchEventMapper::toDTO).collect(Collectors.toList()))
+                .build();
+    }
+
     @Transactional
     public void delete(Long id) {
         if (!matchEventRepository.existsById(id)) {
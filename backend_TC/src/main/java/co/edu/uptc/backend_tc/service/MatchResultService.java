@@ -4,6 +4,7 @@ import co.edu.uptc.backend_tc.dto.MatchResultDTO;
 import co.edu.uptc.backend_tc.entity.Match;
 import co.edu.uptc.backend_tc.entity.MatchResult;
 import co.edu.uptc.backend_tc.exception.ResourceNotFoundException;
+import co.edu.uptc.backend_tc.model.LiveUpdateType;
 import co.edu.uptc.backend_tc.model.MatchStatus;
 import co.edu.uptc.backend_tc.mapper.MatchResultMapper;
 import co.edu.uptc.backend_tc.repository.MatchRepository;
@@ -24,6 +25,8 @@ public class MatchResultService {
     private final MatchResultRepository matchResultRepository;
     private final StandingService standingService;
     private final MatchResultMapper matchResultMapper; // ✅ INYECTAR MAPPER
+    private final LiveUpdateService liveUpdateService;
+    private final BracketService bracketService;
 
     @Transactional
     public MatchResultDTO registerOrUpdateResult(MatchResultDTO dto) {
@@ -34,6 +37,9 @@ public class MatchResultService {
             throw new BadRequestException("Match already finished. Use update endpoint instead.");
         }
 
+        // En cuadros de eliminación el ganador pasa a la siguiente llave (rechaza empates)
+        bracketService.advanceWinner(match, dto.getHomeScore(), dto.getAwayScore());
+
         // Verificar si ya existe un resultado
         MatchResult existingResult = matchResultRepository.findById(dto.getMatchId()).orElse(null);
         
@@ -58,6 +64,7 @@ public class MatchResultService {
 
         // Aplicar nuevas estadísticas
         standingService.updateStandingsFromMatch(match, dto.getHomeScore(), dto.getAwayScore());
+        liveUpdateService.publishResult(LiveUpdateType.RESULT_REGISTERED, match, dto.getHomeScore(), dto.getAwayScore());
 
         return matchResultMapper.toDTO(savedResult);
     }
@@ -68,6 +75,7 @@ public class MatchResultService {
                 .orElseThrow(() -> new ResourceNotFoundException("MatchResult", "matchId", dto.getMatchId()));
 
         Match match = result.getMatch();
+        bracketService.advanceWinner(match, dto.getHomeScore(), dto.getAwayScore());
         
         // Guardar valores anteriores para revertir estadísticas
         Integer oldHomeScore = result.getHomeScore();
@@ -87,6 +95,7 @@ public class MatchResultService {
 
         // Aplicar nuevas estadísticas
         standingService.updateStandingsFromMatch(match, dto.getHomeScore(), dto.getAwayScore());
+        liveUpdateService.publishResult(LiveUpdateType.RESULT_UPDATED, match, dto.getHomeScore(), dto.getAwayScore());
 
         return matchResultMapper.toDTO(matchResultRepository.save(result));
     }
@@ -103,6 +112,7 @@ public class MatchResultService {
                 .orElseThrow(() -> new ResourceNotFoundException("MatchResult", "matchId", matchId));
 
         Match match = result.getMatch();
+        bracketService.retractWinner(match);
         
         // Revertir estadísticas antes de eliminar
         standingService.revertStandingsFromMatch(match, result.getHomeScore(), result.getAwayScore());
@@ -111,5 +121,6 @@ public class MatchResultService {
         matchRepository.save(match);
 
         matchResultRepository.delete(result);
+        liveUpdateService.publishResult(LiveUpdateType.RESULT_DELETED, match, null, null);
     }
 }
\ No newline at end of file
@@ -25,6 +25,7 @@ public class MatchService {
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
     private final MatchMapper matchMapper;
+    private final BracketNodeRepository bracketNodeRepository;
 
     public List<MatchResponseDTO> getAllMatches() {
         return matchRepository.findAllWithRelations().stream()
@@ -77,6 +78,7 @@ public class MatchService {
 
     @Transactional
     public void deleteMatch(Long id) {
+        bracketNodeRepository.clearMatch(id);
         matchRepository.deleteById(id);
     }
 
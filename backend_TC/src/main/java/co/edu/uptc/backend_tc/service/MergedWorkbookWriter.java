@@ -0,0 +1,189 @@
+package co.edu.uptc.backend_tc.service;
+
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Libro .xlsx cuyas hojas se generan por separado y se unen al final.
+ *
+ * Se crea con XSSF una plantilla que solo tiene las hojas vacías; cada hoja se escribe
+ * luego como el XML de su parte en un temporal propio, así que varias hojas pueden
+ * generarse en paralelo sin compartir estado. Al escribir el libro se copia el zip de la
+ * plantilla reemplazando la parte de cada hoja por su temporal.
+ */
+public class MergedWorkbookWriter implements AutoCloseable {
+
+    private static final String SHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final int MAX_SHEET_NAME = 31;
+    private static final int MAX_WIDTH_CHARS = 80;
+
+    private final Path template;
+    private final String[] partNames;
+    private final Path[] sheetFiles;
+
+    public MergedWorkbookWriter(List<String> sheetNames) throws IOException {
+        this.partNames = new String[sheetNames.size()];
+        this.sheetFiles = new Path[sheetNames.size()];
+        this.template = Files.createTempFile("workbook-", ".xlsx");
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(template)) {
+            for (int i = 0; i < sheetNames.size(); i++) {
+                XSSFSheet sheet = workbook.createSheet(sheetNames.get(i));
+                // "/xl/worksheets/sheet1.xml" -> nombre de la entrada en el zip
+                partNames[i] = sheet.getPackagePart().getPartName().getName().substring(1);
+            }
+            workbook.write(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(template);
+            throw e;
+        }
+    }
+
+    /**
+     * Nombres de hoja válidos para Excel (máximo 31 caracteres, sin [ ] : * ? / \) y sin
+     * repetidos, conservando el orden.
+     */
+    public static List<String> safeSheetNames(List<String> names) {
+        Set<String> used = new HashSet<>();
+        List<String> safe = new ArrayList<>(names.size());
+        for (String name : names) {
+            String base = WorkbookUtil.createSafeSheetName(name);
+            String candidate = base;
+            for (int n = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); n++) {
+                String suffix = " (" + n + ")";
+                candidate = base.substring(0, Math.min(base.length(), MAX_SHEET_NAME - suffix.length())) + suffix;
+            }
+            safe.add(candidate);
+        }
+        return safe;
+    }
+
+    /**
+     * Escribe la hoja indicada con sus encabezados y filas. Cada hoja se escribe una sola
+     * vez y desde un único hilo; hojas distintas pueden escribirse a la vez.
+     */
+    public void writeSheet(int index, String[] headers, List<Object[]> rows) throws IOException {
+        int[] widths = new int[headers.length];
+        measure(widths, headers);
+        for (Object[] row : rows) {
+            measure(widths, row);
+        }
+
+        Path file = Files.createTempFile("sheet-", ".xml");
+        sheetFiles[index] = file;
+        try (Writer xml = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+            xml.write("<worksheet xmlns=\"" + SHEET_NS + "\"><cols>");
+            for (int c = 0; c < widths.length; c++) {
+                int chars = Math.min(widths[c] + 2, MAX_WIDTH_CHARS);
+                xml.write("<col min=\"" + (c + 1) + "\" max=\"" + (c + 1) + "\" width=\"" + chars
+                        + "\" customWidth=\"1\"/>");
+            }
+            xml.write("</cols><sheetData>");
+            writeRow(xml, 1, headers);
+            int r = 2;
+            for (Object[] row : rows) {
+                writeRow(xml, r++, row);
+            }
+            xml.write("</sheetData></worksheet>");
+        }
+    }
+
+    /**
+     * Une la plantilla con las hojas escritas y vuelca el libro en out, sin cerrarlo.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        Map<String, Path> replacements = new HashMap<>();
+        for (int i = 0; i < partNames.length; i++) {
+            if (sheetFiles[i] != null) {
+                replacements.put(partNames[i], sheetFiles[i]);
+            }
+        }
+
+        try (ZipFile zip = new ZipFile(template.toFile())) {
+            ZipOutputStream zos = new ZipOutputStream(out);
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                zos.putNextEntry(new ZipEntry(entry.getName()));
+                Path replacement = replacements.get(entry.getName());
+                if (replacement != null) {
+                    Files.copy(replacement, zos);
+                } else {
+                    try (InputStream in = zip.getInputStream(entry)) {
+                        in.transferTo(zos);
+                    }
+                }
+                zos.closeEntry();
+            }
+            // finish() y no close(): la salida pertenece a quien llama
+            zos.finish();
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(template);
+        for (Path file : sheetFiles) {
+            if (file != null) Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeRow(Writer xml, int r, Object[] values) throws IOException {
+        xml.write("<row r=\"" + r + "\">");
+        for (int c = 0; c < values.length; c++) {
+            Object value = values[c];
+            if (value == null) continue;
+
+            String ref = CellReference.convertNumToColString(c) + r;
+            if (value instanceof Number) {
+                xml.write("<c r=\"" + ref + "\"><v>" + value + "</v></c>");
+            } else {
+                xml.write("<c r=\"" + ref + "\" t=\"inlineStr\"><is><t>");
+                escape(xml, value.toString());
+                xml.write("</t></is></c>");
+            }
+        }
+        xml.write("</row>");
+    }
+
+    private static void escape(Writer xml, String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '&' -> xml.write("&amp;");
+                case '<' -> xml.write("&lt;");
+                case '>' -> xml.write("&gt;");
+                case '"' -> xml.write("&quot;");
+                default -> {
+                    // Los caracteres de control no son válidos en XML 1.0
+                    if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') xml.write(ch);
+                }
+            }
+        }
+    }
+
+    private static void measure(int[] widths, Object[] values) {
+        for (int c = 0; c < values.length && c < widths.length; c++) {
+            if (values[c] != null) {
+                widths[c] = Math.max(widths[c], values[c].toString().length());
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package co.edu.uptc.backend_tc.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JSON delimitado por saltos de línea: un objeto por fila, con los nombres de columna
+ * como claves.
+ */
+public class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final String[] columns;
+    private boolean empty = true;
+
+    public NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper, String... columns) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+        this.columns = columns;
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            generator.writeObject(i < values.length ? values[i] : null);
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // El separador solo va entre objetos; la última línea también termina en salto
+        if (!empty) generator.writeRaw('\n');
+        generator.flush();
+    }
+}
@@ -0,0 +1,112 @@
+package co.edu.uptc.backend_tc.service;
+
+/**
+ * Forma reciente de un equipo: sus últimos {@value #LENGTH} resultados ordenados por
+ * fecha del partido, empaquetados en 2 bits por partido dentro de un {@code int}.
+ *
+ * Se guarda el id de cada partido de la ventana para poder quitarlo cuando el
+ * resultado se corrige o se elimina. La ventana conserva además {@value #SPARE}
+ * partidos anteriores de reserva, de modo que al quitar uno de los recientes el
+ * siguiente más antiguo ocupa su lugar sin volver a consultar la base de datos.
+ */
+public class RecentForm {
+
+    public static final int LENGTH = 5;
+    public static final int SPARE = 5;
+    private static final int CAPACITY = LENGTH + SPARE;
+
+    public static final int WIN = 1;
+    public static final int DRAW = 2;
+    public static final int LOSS = 3;
+
+    private static final char[] CODES = {'-', 'W', 'D', 'L'};
+
+    // Posición 0 = partido más antiguo de la ventana
+    private final long[] matchIds = new long[CAPACITY];
+    private final long[] sortKeys = new long[CAPACITY];
+    private int outcomes;
+    private int size;
+
+    /**
+     * Inserta el resultado de un partido en su posición cronológica; si la ventana está
+     * llena se descarta el más antiguo.
+     */
+    public void record(long matchId, long sortKey, int outcome) {
+        remove(matchId);
+
+        int pos = 0;
+        while (pos < size && (sortKeys[pos] < sortKey || (sortKeys[pos] == sortKey && matchIds[pos] < matchId))) {
+            pos++;
+        }
+        if (size == CAPACITY) {
+            if (pos == 0) {
+                return; // más antiguo que toda la ventana
+            }
+            removeAt(0);
+            pos--;
+        }
+
+        for (int i = size; i > pos; i--) {
+            matchIds[i] = matchIds[i - 1];
+            sortKeys[i] = sortKeys[i - 1];
+            setOutcome(i, outcomeAt(i - 1));
+        }
+        matchIds[pos] = matchId;
+        sortKeys[pos] = sortKey;
+        setOutcome(pos, outcome);
+        size++;
+    }
+
+    /**
+     * Quita un partido de la ventana (resultado revertido). Si no estaba, no hace nada.
+     */
+    public void remove(long matchId) {
+        for (int i = 0; i < size; i++) {
+            if (matchIds[i] == matchId) {
+                removeAt(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forma codificada de los últimos {@value #LENGTH} partidos, del más antiguo al
+     * más reciente, por ejemplo {@code "WWDLW"}.
+     */
+    public String encode() {
+        int from = Math.max(0, size - LENGTH);
+        char[] chars = new char[size - from];
+        for (int i = from; i < size; i++) {
+            chars[i - from] = CODES[outcomeAt(i)];
+        }
+        return new String(chars);
+    }
+
+    public RecentForm copy() {
+        RecentForm copy = new RecentForm();
+        System.arraycopy(matchIds, 0, copy.matchIds, 0, CAPACITY);
+        System.arraycopy(sortKeys, 0, copy.sortKeys, 0, CAPACITY);
+        copy.outcomes = outcomes;
+        copy.size = size;
+        return copy;
+    }
+
+    private void removeAt(int index) {
+        for (int i = index; i < size - 1; i++) {
+            matchIds[i] = matchIds[i + 1];
+            sortKeys[i] = sortKeys[i + 1];
+            setOutcome(i, outcomeAt(i + 1));
+        }
+        size--;
+        setOutcome(size, 0);
+    }
+
+    private int outcomeAt(int index) {
+        return (outcomes >>> (index * 2)) & 0b11;
+    }
+
+    private void setOutcome(int index, int outcome) {
+        int shift = index * 2;
+        outcomes = (outcomes & ~(0b11 << shift)) | ((outcome & 0b11) << shift);
+    }
+}
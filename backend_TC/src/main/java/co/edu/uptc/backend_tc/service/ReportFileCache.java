@@ -0,0 +1,158 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.listener.ReportDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Archivos de reporte ya generados, guardados en disco local bajo
+ * {@code app.reports.cache-dir} y nombrados por el hash de su clave.
+ *
+ * La clave la arma quien llama (tipo, torneos y versión de los datos) y esta clase le
+ * agrega una generación en memoria que se incrementa con {@link #invalidateAll()}; así
+ * los cambios que la versión de datos no detecta (p. ej. editar un jugador) descartan
+ * los archivos anteriores sin tener que borrarlos en el momento.
+ */
+@Component
+public class ReportFileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFileCache.class);
+
+    private static final String EXTENSION = ".xlsx";
+
+    private final Path directory;
+    private final long ttlMs;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ReportFileCache(@Value("${app.reports.cache-dir:${java.io.tmpdir}/backend_tc-reports}") String directory,
+                           @Value("${app.reports.cache-ttl-ms:86400000}") long ttlMs) {
+        this.directory = Paths.get(directory);
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Crea el directorio y borra lo que haya quedado de una ejecución anterior: esos
+     * archivos no se pueden validar contra la generación, que vuelve a empezar en cero.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Clave final de un reporte: la clave de datos más la generación actual.
+     */
+    public String keyFor(String dataKey) {
+        return dataKey + "|g" + generation.get();
+    }
+
+    public Optional<Path> find(String key) {
+        Path file = pathFor(key);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Genera el archivo en un temporal y lo mueve a su nombre final, de modo que nunca
+     * se sirva un archivo a medio escribir.
+     */
+    public Path store(String key, ReportWriter writer) throws IOException {
+        Path target = pathFor(key);
+        Path tmp = Files.createTempFile(directory, "report-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                writer.write(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * Deja sin efecto todos los archivos actuales; el borrado queda para la limpieza.
+     */
+    public void invalidateAll() {
+        long current = generation.incrementAndGet();
+        log.debug("🗑️ Caché de reportes invalidada (generación {})", current);
+    }
+
+    /**
+     * Cambio de una entidad que aparece en los reportes, ya confirmado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReportDataChanged(ReportDataChangedEvent event) {
+        invalidateAll();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.cache-ttl-ms:86400000}")
+    public void purgeExpired() {
+        long limit = System.currentTimeMillis() - ttlMs;
+        try (Stream<Path> files = Files.list(directory)) {
+            long removed = files.filter(file -> lastModified(file) < limit)
+                    .filter(this::deleteQuietly)
+                    .count();
+            if (removed > 0) {
+                log.debug("🧹 {} reportes vencidos eliminados del disco", removed);
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudo limpiar el directorio de reportes {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private Path pathFor(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return directory.resolve(HexFormat.of().formatHex(hash) + EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudo borrar el reporte {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+}
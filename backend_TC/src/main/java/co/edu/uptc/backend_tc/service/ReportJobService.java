@@ -0,0 +1,232 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.ReportJobStatusDTO;
+import co.edu.uptc.backend_tc.exception.BadRequestException;
+import co.edu.uptc.backend_tc.exception.BusinessException;
+import co.edu.uptc.backend_tc.exception.ResourceNotFoundException;
+import co.edu.uptc.backend_tc.model.JobStatus;
+import co.edu.uptc.backend_tc.model.ReportType;
+import co.edu.uptc.backend_tc.repository.InscriptionRepository;
+import co.edu.uptc.backend_tc.repository.StandingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generación de reportes en segundo plano: se encola, se consulta el estado y se descarga.
+ *
+ * Los archivos corren en el pool acotado {@code reportExecutor}, así que no ocupan hilos
+ * de Tomcat ni más conexiones que hilos tenga el pool. El resultado queda en
+ * {@link ReportFileCache} con una clave que incluye la versión de los datos; si se pide
+ * de nuevo el mismo reporte sin cambios, el trabajo nace terminado con el archivo
+ * existente, y si ya se está generando se devuelve ese mismo trabajo.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final ReportService reportService;
+    private final InscriptionRepository inscriptionRepository;
+    private final StandingRepository standingRepository;
+    private final StandingsEngine standingsEngine;
+    private final ReportFileCache fileCache;
+    private final TaskExecutor executor;
+    private final long jobTtlMs;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // Trabajos en curso por clave de caché
+    private final Map<String, ReportJob> running = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportService reportService,
+                            InscriptionRepository inscriptionRepository,
+                            StandingRepository standingRepository,
+                            StandingsEngine standingsEngine,
+                            ReportFileCache fileCache,
+                            @Qualifier("reportExecutor") TaskExecutor executor,
+                            @Value("${app.reports.job-ttl-ms:3600000}") long jobTtlMs) {
+        this.reportService = reportService;
+        this.inscriptionRepository = inscriptionRepository;
+        this.standingRepository = standingRepository;
+        this.standingsEngine = standingsEngine;
+        this.fileCache = fileCache;
+        this.executor = executor;
+        this.jobTtlMs = jobTtlMs;
+    }
+
+    /**
+     * Archivo listo para descargar.
+     */
+    public record ReportFile(Path path, String fileName) {
+    }
+
+    public ReportJobStatusDTO submit(ReportType type, List<Long> tournamentIds) {
+        if (tournamentIds == null || tournamentIds.isEmpty()) {
+            throw new BadRequestException("Debe seleccionar al menos un torneo");
+        }
+        List<Long> ids = tournamentIds.stream().distinct().sorted().toList();
+        String key = fileCache.keyFor(type + "|" + ids + "|" + dataVersion(type, ids));
+
+        Optional<Path> cached = fileCache.find(key);
+        if (cached.isPresent()) {
+            ReportJob job = register(new ReportJob(type, ids, key));
+            job.complete(cached.get(), true);
+            log.info("📦 Reporte {} de torneos {} servido desde caché", type, ids);
+            return job.toDTO();
+        }
+
+        ReportJob job = new ReportJob(type, ids, key);
+        ReportJob existing = running.putIfAbsent(key, job);
+        if (existing != null) {
+            return existing.toDTO();
+        }
+        register(job);
+        executor.execute(() -> run(job));
+        log.info("📊 Reporte {} de torneos {} encolado como {}", type, ids, job.id);
+        return job.toDTO();
+    }
+
+    public ReportJobStatusDTO getStatus(String jobId) {
+        return findJob(jobId).toDTO();
+    }
+
+    public ReportFile getFile(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.status != JobStatus.COMPLETED) {
+            throw new BusinessException("El reporte aún no está listo (estado " + job.status + ")",
+                    "REPORT_NOT_READY");
+        }
+        if (!Files.isRegularFile(job.file)) {
+            throw new BusinessException("El archivo del reporte ya no está disponible, solicítelo de nuevo",
+                    "REPORT_EXPIRED");
+        }
+        return new ReportFile(job.file, job.fileName);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.job-ttl-ms:3600000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusNanos(jobTtlMs * 1_000_000L);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    private void run(ReportJob job) {
+        job.status = JobStatus.RUNNING;
+        try {
+            Path file = fileCache.store(job.key, out -> write(job.type, job.tournamentIds, out));
+            job.complete(file, false);
+            log.info("✅ Reporte {} generado en {} ms", job.id,
+                    Duration.between(job.startedAt, job.finishedAt).toMillis());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("❌ Error al generar el reporte {}: {}", job.id, e.getMessage());
+        } finally {
+            running.remove(job.key, job);
+        }
+    }
+
+    private void write(ReportType type, List<Long> tournamentIds, OutputStream out) throws IOException {
+        switch (type) {
+            case STANDINGS -> reportService.writeStandingsExcel(tournamentIds, out);
+            case PARTICIPANTS -> reportService.writeParticipantsExcel(tournamentIds, out);
+            case INSCRIPTIONS -> reportService.writeInscriptionsExcel(tournamentIds.get(0), out);
+        }
+    }
+
+    // Versión de los datos del reporte. Participantes: cantidad y ids de los jugadores
+    // inscritos y última modificación de las inscripciones. Posiciones: sumas de las filas
+    // de standings escritas (los cambios aún en memoria entran en la siguiente escritura)
+    private String dataVersion(ReportType type, List<Long> tournamentIds) {
+        if (type == ReportType.STANDINGS) {
+            // Las hojas salen de las tablas en memoria, que van por delante de la escritura diferida
+            Object[] row = standingRepository.findReportVersion(tournamentIds).get(0);
+            return row[0] + "-" + row[1] + "-" + row[2] + "-" + row[3] + "-" + row[4]
+                    + "-e" + standingsEngine.changeCount();
+        }
+        Object[] row = inscriptionRepository.findParticipantReportVersion(tournamentIds).get(0);
+        OffsetDateTime lastUpdate = (OffsetDateTime) row[2];
+        return row[0] + "-" + row[1] + "-" + (lastUpdate != null ? lastUpdate.toInstant().toEpochMilli() : 0);
+    }
+
+    private static String fileName(ReportType type, List<Long> tournamentIds) {
+        return switch (type) {
+            case STANDINGS -> "posiciones_torneos.xlsx";
+            case PARTICIPANTS -> "reporte_consolidado_torneos.xlsx";
+            case INSCRIPTIONS -> "inscriptions_t" + tournamentIds.get(0) + ".xlsx";
+        };
+    }
+
+    private ReportJob register(ReportJob job) {
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job", "id", jobId);
+        }
+        return job;
+    }
+
+    private static class ReportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final ReportType type;
+        private final List<Long> tournamentIds;
+        private final String key;
+        private final String fileName;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile JobStatus status = JobStatus.PENDING;
+        private volatile Path file;
+        private volatile boolean fromCache;
+        private volatile String error;
+
+        private ReportJob(ReportType type, List<Long> tournamentIds, String key) {
+            this.type = type;
+            this.tournamentIds = tournamentIds;
+            this.key = key;
+            this.fileName = fileName(type, tournamentIds);
+        }
+
+        private void complete(Path file, boolean fromCache) {
+            this.file = file;
+            this.fromCache = fromCache;
+            finishedAt = LocalDateTime.now();
+            status = JobStatus.COMPLETED;
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            finishedAt = LocalDateTime.now();
+            status = JobStatus.FAILED;
+        }
+
+        private ReportJobStatusDTO toDTO() {
+            return ReportJobStatusDTO.builder()
+                    .jobId(id)
+                    .type(type)
+                    .tournamentIds(tournamentIds)
+                    .status(status)
+                    .fromCache(fromCache)
+                    .fileName(fileName)
+                    .error(error)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
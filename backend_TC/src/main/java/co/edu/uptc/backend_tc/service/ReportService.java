@@ -1,157 +1,156 @@
 package co.edu.uptc.backend_tc.service;
 
-import co.edu.uptc.backend_tc.entity.Inscription;
-import co.edu.uptc.backend_tc.entity.InscriptionPlayer;
-import co.edu.uptc.backend_tc.entity.Player;
+import co.edu.uptc.backend_tc.model.ExportFormat;
 import co.edu.uptc.backend_tc.repository.InscriptionRepository;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import co.edu.uptc.backend_tc.repository.ParticipantReportRow;
+import co.edu.uptc.backend_tc.repository.StandingReportRow;
+import co.edu.uptc.backend_tc.repository.StandingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class ReportService {
 
-    private final StandingService standingService;
-    private final InscriptionRepository inscriptionRepository;
+    private static final String[] PARTICIPANT_COLUMNS = {
+            "tournamentId", "tournamentName", "teamName", "fullName",
+            "studentCode", "documentNumber", "institutionalEmail"
+    };
+
+    private static final String[] STANDING_COLUMNS = {
+            "tournamentId", "tournamentName", "categoryId", "categoryName", "teamId", "teamName",
+            "played", "wins", "draws", "losses", "goalsFor", "goalsAgainst", "goalDifference", "points"
+    };
 
-    public ReportService(StandingService standingService, InscriptionRepository inscriptionRepository) {
-        this.standingService = standingService;
+    private final InscriptionRepository inscriptionRepository;
+    private final StandingRepository standingRepository;
+    private final ObjectMapper objectMapper;
+    private final StandingsReportService standingsReportService;
+
+    public ReportService(InscriptionRepository inscriptionRepository,
+                         StandingRepository standingRepository,
+                         ObjectMapper objectMapper,
+                         StandingsReportService standingsReportService) {
         this.inscriptionRepository = inscriptionRepository;
+        this.standingRepository = standingRepository;
+        this.objectMapper = objectMapper;
+        this.standingsReportService = standingsReportService;
     }
 
-    // Este método acepta una lista de IDs de torneo seleccionados desde el frontend
-    public ByteArrayInputStream generateStandingsExcel(List<Long> tournamentIds) throws Exception {
-        
-        // Lista para almacenar las inscripciones de TODOS los torneos seleccionados
-        List<Inscription> inscriptions = new ArrayList<>();
-        
-        // 1. Bucle para obtener inscripciones por cada ID
-        for (Long tournamentId : tournamentIds) {
-            // CORRECCIÓN: Usamos el método existente findByTournamentId(Long)
-            List<Inscription> currentTournamentInscriptions = inscriptionRepository.findByTournamentId(tournamentId);
-            inscriptions.addAll(currentTournamentInscriptions);
-        }
-        
-        // --- El resto del código es idéntico al anterior ---
-
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Sheet sheet = workbook.createSheet("Participantes Multi-Torneo");
+    /**
+     * Tablas de posiciones de los torneos seleccionados: una hoja por torneo y categoría.
+     */
+    public void writeStandingsExcel(List<Long> tournamentIds, OutputStream out) throws IOException {
+        standingsReportService.writeStandingsExcel(tournamentIds, out);
+    }
 
-            // 2. Definición de encabezados
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID Torneo", "Nombre Torneo", "Nombre Completo Participantes", "Código Estudiantil", "No. Identificación", "Correo Electrónico", "Equipo"};
-            for (int i = 0; i < headers.length; i++) {
-                headerRow.createCell(i).setCellValue(headers[i]);
+    // Este método acepta una lista de IDs de torneo seleccionados desde el frontend.
+    // Las filas llegan planas desde una sola consulta y se escriben en streaming sobre out,
+    // así que ni las entidades ni el libro completo quedan en memoria.
+    @Transactional(readOnly = true)
+    public void writeParticipantsExcel(List<Long> tournamentIds, OutputStream out) throws IOException {
+        try (StreamingSheetWriter writer = new StreamingSheetWriter();
+             Stream<ParticipantReportRow> rows = inscriptionRepository.streamParticipantRows(tournamentIds)) {
+            // 1. Definición de encabezados
+            writer.startSheet("Participantes Multi-Torneo",
+                    "ID Torneo", "Nombre Torneo", "Nombre Completo Participantes", "Código Estudiantil",
+                    "No. Identificación", "Correo Electrónico", "Equipo");
+
+            // 2. Una fila por cada jugador inscrito en los torneos seleccionados
+            Iterator<ParticipantReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ParticipantReportRow row = it.next();
+                writer.row(row.getTournamentId(), row.getTournamentName(), row.getFullName(),
+                        orEmpty(row.getStudentCode()),
+                        row.getDocumentNumber(),
+                        orEmpty(row.getInstitutionalEmail()),
+                        row.getTeamName());
             }
 
-            int rowIdx = 1; 
-            int nombreTorneoIndex = 1;
-            int idTorneoIndex = 0; 
-
-            // 3. Iteración sobre las inscripciones combinadas (la lista 'inscriptions' que ya contiene todo)
-            for (Inscription ins : inscriptions) {
-                String teamName = ins.getTeamName();
-                
-                // Accedemos a la información del Torneo (asumiendo que está cargada)
-                Long currentTournamentId = ins.getTournament().getId();
-                String currentTournamentName = ins.getTournament().getName(); 
-
-                if (ins.getPlayers() != null && !ins.getPlayers().isEmpty()) {
-                    
-                    for (InscriptionPlayer inscriptionPlayer : ins.getPlayers()) { 
-                        
-                        Player player = inscriptionPlayer.getPlayer(); 
-
-                        if (player == null) {
-                            continue; 
-                        }
-
-                        Row row = sheet.createRow(rowIdx++);
-
-                        // Mapeamos los datos del jugador
-                        row.createCell(2).setCellValue(player.getFullName()); 
-                        row.createCell(3).setCellValue(player.getStudentCode() != null ? player.getStudentCode() : "");
-                        row.createCell(4).setCellValue(player.getDocumentNumber());
-                        row.createCell(5).setCellValue(player.getInstitutionalEmail() != null ? player.getInstitutionalEmail() : "");
-                        row.createCell(6).setCellValue(teamName);
-                        
-                        // 4. AGREGAMOS NOMBRE E ID DEL TORNEO
-                        row.createCell(nombreTorneoIndex).setCellValue(currentTournamentName);
-                        row.createCell(idTorneoIndex).setCellValue(currentTournamentId.doubleValue());
-                    }
-                }
-            }
+            // 3. Escribir directamente en la salida (sin copia intermedia en memoria)
+            writer.writeTo(out);
+        }
+    }
 
-            // 5. Autoajustar las columnas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+    /**
+     * Reporte de participantes de un torneo, escrito en streaming sobre out.
+     */
+    @Transactional(readOnly = true)
+    public void writeInscriptionsExcel(Long tournamentId, OutputStream out) throws IOException {
+        try (StreamingSheetWriter writer = new StreamingSheetWriter();
+             Stream<ParticipantReportRow> rows = inscriptionRepository.streamParticipantRows(List.of(tournamentId))) {
+            // 1. Definición de encabezados
+            writer.startSheet("Participantes",
+                    "ID Torneo", "Nombre Completo", "Código Estudiantil", "No. Identificación", "Correo Electrónico", "Equipo");
+
+            // 2. Una fila por cada jugador de cada equipo
+            Iterator<ParticipantReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ParticipantReportRow row = it.next();
+                writer.row(String.valueOf(tournamentId), row.getFullName(),
+                        orEmpty(row.getStudentCode()),
+                        row.getDocumentNumber(),
+                        orEmpty(row.getInstitutionalEmail()),
+                        row.getTeamName());
             }
 
-            workbook.write(out);
-            return new ByteArrayInputStream(out.toByteArray());
+            writer.writeTo(out);
         }
     }
 
-    public ByteArrayInputStream generateInscriptionsExcel(Long tournamentId) throws Exception {
-    
-        // Obtenemos las inscripciones (equipos) para el torneo
-        List<Inscription> inscriptions = inscriptionRepository.findByTournamentId(tournamentId);
-
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Sheet sheet = workbook.createSheet("Participantes");
-
-            // 1. Definición de encabezados
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID Torneo", "Nombre Completo", "Código Estudiantil", "No. Identificación", "Correo Electrónico", "Equipo"};
-            for (int i = 0; i < headers.length; i++) {
-                headerRow.createCell(i).setCellValue(headers[i]);
+    /**
+     * Participantes en CSV o NDJSON, fila por fila desde el cursor. Sin torneos indicados
+     * exporta todos los del sistema.
+     */
+    @Transactional(readOnly = true)
+    public void exportParticipants(List<Long> tournamentIds, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ParticipantReportRow> rows = isEmpty(tournamentIds)
+                ? inscriptionRepository.streamAllParticipantRows()
+                : inscriptionRepository.streamParticipantRows(tournamentIds)) {
+            RowWriter writer = RowWriter.of(format, out, objectMapper, PARTICIPANT_COLUMNS);
+            Iterator<ParticipantReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                ParticipantReportRow row = it.next();
+                writer.row(row.getTournamentId(), row.getTournamentName(), row.getTeamName(), row.getFullName(),
+                        row.getStudentCode(), row.getDocumentNumber(), row.getInstitutionalEmail());
             }
+            writer.finish();
+        }
+    }
 
-            int rowIdx = 1; // Fila de inicio para los datos
-
-            // 2. Bucle principal sobre las inscripciones (equipos)
-            for (Inscription ins : inscriptions) {
-                String teamName = ins.getTeamName(); 
-
-                if (ins.getPlayers() != null && !ins.getPlayers().isEmpty()) {
-                    
-                    // 3. Bucle anidado sobre los InscriptionPlayer de cada equipo
-                    for (InscriptionPlayer inscriptionPlayer : ins.getPlayers()) { 
-                        
-                        // Obtenemos el objeto Player real
-                        Player player = inscriptionPlayer.getPlayer(); 
-
-                        if (player == null) {
-                            continue; // Saltar si el jugador está nulo por algún error de la DB
-                        }
-
-                        // 4. Creamos una fila por CADA jugador
-                        Row row = sheet.createRow(rowIdx++);
-
-                        // Mapeamos los datos del jugador (Usando los Getters de la clase Player)
-                        row.createCell(0).setCellValue(String.valueOf(tournamentId));
-                        row.createCell(1).setCellValue(player.getFullName()); 
-                        row.createCell(2).setCellValue(player.getStudentCode() != null ? player.getStudentCode() : "");
-                        row.createCell(3).setCellValue(player.getDocumentNumber());
-                        row.createCell(4).setCellValue(player.getInstitutionalEmail() != null ? player.getInstitutionalEmail() : "");
-                        row.createCell(5).setCellValue(teamName);
-
-                    }
-                }
+    /**
+     * Tablas de posiciones en CSV o NDJSON, fila por fila desde el cursor. Sin torneos
+     * indicados exporta todos los del sistema.
+     */
+    @Transactional(readOnly = true)
+    public void exportStandings(List<Long> tournamentIds, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<StandingReportRow> rows = isEmpty(tournamentIds)
+                ? standingRepository.streamAllStandingRows()
+                : standingRepository.streamStandingRows(tournamentIds)) {
+            RowWriter writer = RowWriter.of(format, out, objectMapper, STANDING_COLUMNS);
+            Iterator<StandingReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                StandingReportRow row = it.next();
+                writer.row(row.getTournamentId(), row.getTournamentName(), row.getCategoryId(), row.getCategoryName(),
+                        row.getTeamId(), row.getTeamName(), row.getPlayed(), row.getWins(), row.getDraws(),
+                        row.getLosses(), row.getGoalsFor(), row.getGoalsAgainst(),
+                        row.getGoalsFor() - row.getGoalsAgainst(), row.getPoints());
             }
+            writer.finish();
+        }
+    }
 
-            // 5. Autoajustar las columnas para mejor visualización
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
+    private static boolean isEmpty(List<Long> tournamentIds) {
+        return tournamentIds == null || tournamentIds.isEmpty();
+    }
 
-            workbook.write(out);
-            return new ByteArrayInputStream(out.toByteArray());
-        }
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
     }
 }
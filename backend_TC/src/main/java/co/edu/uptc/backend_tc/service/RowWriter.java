@@ -0,0 +1,29 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.model.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escritor de filas planas para exportaciones en texto. Cada fila se escribe apenas
+ * llega, sin acumular nada más que el búfer de salida.
+ */
+public interface RowWriter {
+
+    void row(Object... values) throws IOException;
+
+    /**
+     * Vacía el búfer; no cierra la salida, que pertenece a quien llama.
+     */
+    void finish() throws IOException;
+
+    static RowWriter of(ExportFormat format, OutputStream out, ObjectMapper objectMapper,
+                        String... columns) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRowWriter(out, columns);
+            case NDJSON -> new NdjsonRowWriter(out, objectMapper, columns);
+        };
+    }
+}
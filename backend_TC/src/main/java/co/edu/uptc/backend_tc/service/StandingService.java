@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,25 +26,30 @@ public class StandingService {
     private final StandingRepository standingRepository;
     private final StandingMapper standingMapper;
     private final MatchResultRepository matchResultRepository;
+    private final StandingsEngine standingsEngine;
 
     private static final Logger log = LoggerFactory.getLogger(StandingService.class);
 
     public List<StandingDTO> getStandings(Long tournamentId, Long categoryId) {
-        return standingRepository.findByTournamentIdAndCategoryId(tournamentId, categoryId)
+        return standingsEngine.getTable(tournamentId, categoryId)
+                .snapshot()
                 .stream()
-                .map(standingMapper::toDTO)
+                .map(row -> standingMapper.toDTO(row, tournamentId, categoryId))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Tabla de posiciones ordenada (puntos, diferencia de gol, goles a favor y enfrentamiento
+     * directo), servida desde memoria una vez cargada la categoría.
+     */
     public List<StandingResponseDTO> getStandingsWithPosition(Long tournamentId, Long categoryId) {
-        List<Standing> standings = standingRepository
-                .findByTournamentIdAndCategoryId(tournamentId, categoryId);
+        List<StandingsTable.Row> rows = standingsEngine.getTable(tournamentId, categoryId).snapshot();
 
-        return IntStream.range(0, standings.size())
+        return IntStream.range(0, rows.size())
                 .mapToObj(i -> standingMapper.toResponseDTO(
-                        standings.get(i),
+                        rows.get(i),
                         i + 1, // posición
-                        null   // form - se puede calcular después
+                        rows.get(i).getForm()
                 ))
                 .collect(Collectors.toList());
     }
@@ -65,166 +71,60 @@ public class StandingService {
                     " no tiene asignado Torneo, Categoría o Equipos. No se puede guardar el resultado.");
         }
 
-        // Standing del equipo local
-        Standing home = standingRepository.findByTournamentIdAndCategoryIdAndTeamId(
-                tournament.getId(), category.getId(), match.getHomeTeam().getId()
-        ).orElseGet(() -> initStanding(tournament, category, match.getHomeTeam()));
-
-        // Standing del equipo visitante
-        Standing away = standingRepository.findByTournamentIdAndCategoryIdAndTeamId(
-                tournament.getId(), category.getId(), match.getAwayTeam().getId()
-        ).orElseGet(() -> initStanding(tournament, category, match.getAwayTeam()));
-
-        // Actualizar estadísticas
-        home.setPlayed(home.getPlayed() + 1);
-        away.setPlayed(away.getPlayed() + 1);
-
-        home.setGoalsFor(home.getGoalsFor() + homeScore);
-        home.setGoalsAgainst(home.getGoalsAgainst() + awayScore);
-        away.setGoalsFor(away.getGoalsFor() + awayScore);
-        away.setGoalsAgainst(away.getGoalsAgainst() + homeScore);
-
-        if (homeScore > awayScore) {
-            home.setWins(home.getWins() + 1);
-            home.setPoints(home.getPoints() + 3);
-            away.setLosses(away.getLosses() + 1);
-        } else if (homeScore < awayScore) {
-            away.setWins(away.getWins() + 1);
-            away.setPoints(away.getPoints() + 3);
-            home.setLosses(home.getLosses() + 1);
-        } else {
-            home.setDraws(home.getDraws() + 1);
-            away.setDraws(away.getDraws() + 1);
-            home.setPoints(home.getPoints() + 1);
-            away.setPoints(away.getPoints() + 1);
-        }
-
-        standingRepository.save(home);
-        standingRepository.save(away);
-    }
-
-    private Standing initStanding(Tournament tournament, Category category, Team team) {
-        Standing standing = Standing.builder()
-                .tournament(tournament)
-                .category(category)
-                .team(team)
-                .points(0)
-                .played(0)
-                .wins(0)
-                .draws(0)
-                .losses(0)
-                .goalsFor(0)
-                .goalsAgainst(0)
-                .build();
-        return standingRepository.save(standing);
+        // El delta se aplica en memoria al hacer commit y se persiste de forma diferida
+        standingsEngine.applyResult(match, homeScore, awayScore, 1);
     }
 
     @Transactional
     public void revertStandingsFromMatch(Match match, Integer homeScore, Integer awayScore) {
-        Tournament tournament = match.getTournament();
-        Category category = match.getCategory();
-
-        // Obtener standings existentes
-        Standing home = standingRepository.findByTournamentIdAndCategoryIdAndTeamId(
-                tournament.getId(), category.getId(), match.getHomeTeam().getId()
-        ).orElse(null);
-
-        Standing away = standingRepository.findByTournamentIdAndCategoryIdAndTeamId(
-                tournament.getId(), category.getId(), match.getAwayTeam().getId()
-        ).orElse(null);
-
-        // Si no existen standings, no hay nada que revertir
-        if (home == null || away == null) {
-            return;
-        }
-
-        // Revertir estadísticas (restar en lugar de sumar)
-        home.setPlayed(Math.max(0, home.getPlayed() - 1));
-        away.setPlayed(Math.max(0, away.getPlayed() - 1));
-
-        home.setGoalsFor(Math.max(0, home.getGoalsFor() - homeScore));
-        home.setGoalsAgainst(Math.max(0, home.getGoalsAgainst() - awayScore));
-        away.setGoalsFor(Math.max(0, away.getGoalsFor() - awayScore));
-        away.setGoalsAgainst(Math.max(0, away.getGoalsAgainst() - homeScore));
-
-        // Revertir resultado del partido
-        if (homeScore > awayScore) {
-            home.setWins(Math.max(0, home.getWins() - 1));
-            home.setPoints(Math.max(0, home.getPoints() - 3));
-            away.setLosses(Math.max(0, away.getLosses() - 1));
-        } else if (homeScore < awayScore) {
-            away.setWins(Math.max(0, away.getWins() - 1));
-            away.setPoints(Math.max(0, away.getPoints() - 3));
-            home.setLosses(Math.max(0, home.getLosses() - 1));
-        } else {
-            home.setDraws(Math.max(0, home.getDraws() - 1));
-            away.setDraws(Math.max(0, away.getDraws() - 1));
-            home.setPoints(Math.max(0, home.getPoints() - 1));
-            away.setPoints(Math.max(0, away.getPoints() - 1));
-        }
-
-        standingRepository.save(home);
-        standingRepository.save(away);
+        // Si el equipo no tiene standing, no hay nada que revertir
+        standingsEngine.applyResult(match, homeScore, awayScore, -1);
     }
 
     @Transactional
     public void recalculateStandings(Long tournamentId, Long categoryId, List<MatchResult> results) {
-        // Borrar standings previos
-        standingRepository.deleteByTournamentIdAndCategoryId(tournamentId, categoryId);
-
-        // Reprocesar todos los resultados
-        for (MatchResult result : results) {
-            updateStandingsFromMatch(
-                    result.getMatch(),
-                    result.getHomeScore(),
-                    result.getAwayScore()
-            );
-        }
+        StandingsEngine.Replacement replacement = standingsEngine.beginReplace(tournamentId, categoryId);
+        replaceStandings(replacement, standingsEngine.fold(tournamentId, categoryId, results.stream()));
     }
 
     /**
      * Recalcular standings desde los resultados de partidos finalizados
-     * Este método es útil cuando los standings se desincronizaron o se necesita regenerarlos
+     * Este método es útil cuando los standings se desincronizaron o se necesita regenerarlos.
+     * Solo se leen los resultados FINISHED de la categoría (una consulta con fetch join,
+     * recorrida como cursor) y la tabla se escribe de vuelta en lotes JDBC.
      */
     @Transactional
     public void recalculateFromResults(Long tournamentId, Long categoryId) {
         log.info("🔄 Recalculando standings para tournament={}, category={}", tournamentId, categoryId);
 
-        // Borrar todos los standings existentes para este torneo y categoría
-        standingRepository.deleteByTournamentIdAndCategoryId(tournamentId, categoryId);
-        log.info("🗑️ Standings anteriores eliminados");
-
-        // Obtener todos los resultados de partidos finalizados
-        List<MatchResult> results = matchResultRepository.findAll().stream()
-                .filter(result -> {
-                    Match match = result.getMatch();
-                    return match != null
-                            && match.getTournament() != null
-                            && match.getTournament().getId().equals(tournamentId)
-                            && match.getCategory() != null
-                            && match.getCategory().getId().equals(categoryId)
-                            && match.getStatus() == MatchStatus.FINISHED;
-                })
-                .toList();
-
-        log.info("📊 Encontrados {} resultados finalizados para procesar", results.size());
-
-        // Procesar cada resultado
-        int processed = 0;
-        for (MatchResult result : results) {
-            try {
-                updateStandingsFromMatch(
-                        result.getMatch(),
-                        result.getHomeScore(),
-                        result.getAwayScore()
-                );
-                processed++;
-            } catch (Exception e) {
-                log.error("❌ Error al procesar resultado del partido {}: {}",
-                        result.getMatch().getId(), e.getMessage());
-            }
+        // Desde aquí los resultados que se confirmen se reaplican sobre la tabla nueva
+        StandingsEngine.Replacement replacement = standingsEngine.beginReplace(tournamentId, categoryId);
+        StandingsTable table;
+        try (Stream<MatchResult> results = matchResultRepository.streamByTournamentIdAndCategoryIdAndStatus(
+                tournamentId, categoryId, MatchStatus.FINISHED)) {
+            table = standingsEngine.fold(tournamentId, categoryId, results);
         }
 
-        log.info("✅ Standings recalculados exitosamente. Procesados: {}/{}", processed, results.size());
+        replaceStandings(replacement, table);
+
+        log.info("✅ Standings recalculados exitosamente. Equipos: {}", table.size());
+    }
+
+    /**
+     * Sustituye los standings persistidos de la categoría por los de la tabla dada. La tabla
+     * en memoria se reemplaza al hacer commit, no antes, para que ninguna lectura vuelva a
+     * cargar las filas que se están borrando.
+     */
+    private void replaceStandings(StandingsEngine.Replacement replacement, StandingsTable table) {
+        Long tournamentId = table.getTournamentId();
+        Long categoryId = table.getCategoryId();
+
+        // Borrar standings previos
+        int deleted = standingRepository.bulkDeleteByTournamentIdAndCategoryId(tournamentId, categoryId);
+        log.info("🗑️ Standings anteriores eliminados: {}", deleted);
+
+        standingsEngine.insertAll(table);
+
+        standingsEngine.replace(replacement, table);
     }
-}
\ No newline at end of file
+}
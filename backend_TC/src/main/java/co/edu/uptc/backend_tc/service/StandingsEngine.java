@@ -0,0 +1,391 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.TeamSummaryDTO;
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.entity.MatchResult;
+import co.edu.uptc.backend_tc.entity.Standing;
+import co.edu.uptc.backend_tc.entity.Team;
+import co.edu.uptc.backend_tc.mapper.TeamMapper;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.repository.CategoryRepository;
+import co.edu.uptc.backend_tc.repository.MatchResultRepository;
+import co.edu.uptc.backend_tc.repository.StandingRepository;
+import co.edu.uptc.backend_tc.repository.TeamRepository;
+import co.edu.uptc.backend_tc.repository.TournamentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Motor de tablas de posiciones en memoria.
+ *
+ * Cada (torneo, categoría) se carga una sola vez desde la base de datos; a partir de ahí
+ * las lecturas se sirven desde memoria y los resultados se aplican como deltas después
+ * del commit de la transacción que los registró. Los deltas acumulados se escriben en la
+ * tabla {@code standings} de forma diferida por {@link #flush()}, como incrementos
+ * atómicos en SQL ({@code points = points + :d}), por lo que dos escrituras concurrentes
+ * sobre el mismo equipo nunca se pisan.
+ *
+ * Una tabla reconstruida ({@link #beginReplace}) sustituye a la anterior en el mismo
+ * callback posterior al commit; los deltas confirmados mientras se reconstruía se guardan
+ * y se reaplican sobre la tabla nueva sin duplicar los que ya había leído.
+ */
+@Service
+@RequiredArgsConstructor
+public class StandingsEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsEngine.class);
+
+    private final StandingRepository standingRepository;
+    private final MatchResultRepository matchResultRepository;
+    private final TournamentRepository tournamentRepository;
+    private final CategoryRepository categoryRepository;
+    private final TeamRepository teamRepository;
+    private final TeamMapper teamMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<TableKey, StandingsTable> tables = new ConcurrentHashMap<>();
+    // Cambios aplicados en memoria; las lecturas pueden ir por delante de la escritura diferida
+    private final AtomicLong changes = new AtomicLong();
+
+    // Serializa la escritura diferida frente a los reemplazos de tabla (recálculos)
+    private final Object writeBackLock = new Object();
+
+    // Reconstrucciones en curso por tabla y sus deltas pendientes (protegido por replaceLock,
+    // que se toma siempre después de writeBackLock)
+    private final Map<TableKey, List<Replacement>> replacements = new HashMap<>();
+    private final Object replaceLock = new Object();
+
+    /**
+     * Devuelve la tabla en memoria, cargándola desde la base de datos si es la primera vez.
+     * Debe invocarse dentro de una transacción para poder resolver los datos del equipo.
+     */
+    public StandingsTable getTable(Long tournamentId, Long categoryId) {
+        return getTable(new TableKey(tournamentId, categoryId), null);
+    }
+
+    /**
+     * La carga se hace fuera del mapa (no dentro de computeIfAbsent, que retendría el lock
+     * del bin durante las consultas); si dos hilos cargan a la vez, queda la primera tabla.
+     */
+    private StandingsTable getTable(TableKey key, Long excludedMatchId) {
+        StandingsTable table = tables.get(key);
+        if (table != null) {
+            return table;
+        }
+        StandingsTable loaded = loadTable(key, excludedMatchId);
+        StandingsTable previous = tables.putIfAbsent(key, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    /**
+     * Contador de cambios confirmados sobre las tablas en memoria (resultados, tablas
+     * reconstruidas o descartadas). Sirve de versión para lo que se arma desde memoria,
+     * que puede ir por delante de la tabla {@code standings}.
+     */
+    public long changeCount() {
+        return changes.get();
+    }
+
+    /**
+     * Tabla ya cargada en memoria, sin ir a la base de datos si no lo está.
+     */
+    public Optional<StandingsTable> findLoadedTable(Long tournamentId, Long categoryId) {
+        return Optional.ofNullable(tables.get(new TableKey(tournamentId, categoryId)));
+    }
+
+    /**
+     * Aplica (sign = 1) o revierte (sign = -1) el resultado de un partido.
+     * El cambio se refleja en memoria cuando la transacción actual hace commit.
+     */
+    public void applyResult(Match match, int homeScore, int awayScore, int sign) {
+        Long tournamentId = match.getTournament().getId();
+        Long categoryId = match.getCategory().getId();
+        // Si la tabla se carga aquí, el resultado nuevo ya está guardado en esta transacción
+        // (y la consulta lo vería al hacer flush); se excluye para cargar solo lo confirmado,
+        // y se suma al hacer commit como cualquier otro resultado
+        StandingsTable table = getTable(new TableKey(tournamentId, categoryId), sign > 0 ? match.getId() : null);
+
+        Team home = match.getHomeTeam();
+        Team away = match.getAwayTeam();
+
+        // Los datos del equipo se resuelven aquí, mientras la sesión sigue abierta
+        boolean needsHome = sign > 0 && !table.contains(home.getId());
+        boolean needsAway = sign > 0 && !table.contains(away.getId());
+        var homeSummary = needsHome ? teamMapper.toSummaryDTO(home) : null;
+        var awaySummary = needsAway ? teamMapper.toSummaryDTO(away) : null;
+        String homeName = home.getName();
+        String awayName = away.getName();
+
+        afterCommit(() -> {
+            TableKey key = new TableKey(tournamentId, categoryId);
+            synchronized (replaceLock) {
+                changes.incrementAndGet();
+                StandingsTable current = tables.get(key);
+                List<Replacement> pending = replacements.get(key);
+                if (pending != null) {
+                    // La tabla que se está reconstruyendo puede no tener a los equipos
+                    TeamSummaryDTO homeTeam = homeSummary != null ? homeSummary : teamOf(current, home.getId());
+                    TeamSummaryDTO awayTeam = awaySummary != null ? awaySummary : teamOf(current, away.getId());
+                    Consumer<StandingsTable> delta = target -> {
+                        if (sign > 0 && homeTeam != null) target.addTeamIfAbsent(home.getId(), homeName, homeTeam);
+                        if (sign > 0 && awayTeam != null) target.addTeamIfAbsent(away.getId(), awayName, awayTeam);
+                        target.replayResult(match.getId(), match.getStartsAt(), home.getId(), away.getId(),
+                                homeScore, awayScore, sign);
+                    };
+                    pending.forEach(replacement -> replacement.deltas.add(delta));
+                }
+                if (current == null) {
+                    return;
+                }
+                if (needsHome) current.addTeamIfAbsent(home.getId(), homeName, homeSummary);
+                if (needsAway) current.addTeamIfAbsent(away.getId(), awayName, awaySummary);
+                current.applyResult(match.getId(), match.getStartsAt(), home.getId(), away.getId(),
+                        homeScore, awayScore, sign);
+            }
+        });
+    }
+
+    private static TeamSummaryDTO teamOf(StandingsTable table, Long teamId) {
+        return table != null ? table.findTeam(teamId) : null;
+    }
+
+    /**
+     * Pliega en memoria los resultados dados sobre una tabla vacía. Consume el stream
+     * una sola vez, de modo que puede venir directamente de un cursor de base de datos.
+     */
+    public StandingsTable fold(Long tournamentId, Long categoryId, Stream<MatchResult> results) {
+        StandingsTable fresh = new StandingsTable(tournamentId, categoryId);
+        results.forEach(result -> {
+            Match match = result.getMatch();
+            Team home = match.getHomeTeam();
+            Team away = match.getAwayTeam();
+            if (!fresh.contains(home.getId())) {
+                fresh.addTeamIfAbsent(home.getId(), home.getName(), teamMapper.toSummaryDTO(home));
+            }
+            if (!fresh.contains(away.getId())) {
+                fresh.addTeamIfAbsent(away.getId(), away.getName(), teamMapper.toSummaryDTO(away));
+            }
+            fresh.applyResult(match.getId(), match.getStartsAt(), home.getId(), away.getId(),
+                    result.getHomeScore(), result.getAwayScore(), 1);
+        });
+        return fresh;
+    }
+
+    /**
+     * Inicia la reconstrucción de una tabla. Debe llamarse antes de leer los resultados que
+     * se van a plegar: desde aquí, los deltas confirmados para la tabla se guardan para
+     * reaplicarlos sobre la tabla nueva, y la tabla actual deja de escribirse en la base
+     * de datos (sus filas se van a reemplazar). Si la transacción se revierte, todo sigue
+     * como estaba.
+     */
+    public Replacement beginReplace(Long tournamentId, Long categoryId) {
+        Replacement replacement = new Replacement(new TableKey(tournamentId, categoryId));
+        synchronized (replaceLock) {
+            replacements.computeIfAbsent(replacement.key, k -> new ArrayList<>()).add(replacement);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED && replacement.table != null) {
+                        install(replacement);
+                    } else {
+                        synchronized (replaceLock) {
+                            removeReplacement(replacement);
+                        }
+                    }
+                }
+            });
+        }
+        return replacement;
+    }
+
+    /**
+     * Publica la tabla reconstruida cuando la transacción actual hace commit.
+     */
+    public void replace(Replacement replacement, StandingsTable table) {
+        replacement.table = table;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            install(replacement);
+        }
+    }
+
+    /**
+     * Sustituye la tabla en memoria por la reconstruida, con los deltas confirmados
+     * mientras tanto, sin que haya una escritura diferida en curso.
+     */
+    private void install(Replacement replacement) {
+        synchronized (writeBackLock) {
+            synchronized (replaceLock) {
+                removeReplacement(replacement);
+                replacement.deltas.forEach(delta -> delta.accept(replacement.table));
+                tables.put(replacement.key, replacement.table);
+                changes.incrementAndGet();
+            }
+        }
+    }
+
+    private void removeReplacement(Replacement replacement) {
+        List<Replacement> pending = replacements.get(replacement.key);
+        if (pending != null) {
+            pending.remove(replacement);
+            if (pending.isEmpty()) {
+                replacements.remove(replacement.key);
+            }
+        }
+    }
+
+    private boolean isReplacing(TableKey key) {
+        synchronized (replaceLock) {
+            return replacements.containsKey(key);
+        }
+    }
+
+    /**
+     * Escribe en la base de datos las filas modificadas desde la última escritura.
+     */
+    @Scheduled(fixedDelayString = "${app.standings.flush-interval-ms:5000}")
+    public void flush() {
+        synchronized (writeBackLock) {
+            for (Map.Entry<TableKey, StandingsTable> entry : tables.entrySet()) {
+                StandingsTable table = entry.getValue();
+                if (!table.hasDirtyRows() || isReplacing(entry.getKey())) continue;
+
+                List<StandingsTable.Row> rows = table.drainDirty();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writeRows(table, rows));
+                } catch (Exception e) {
+                    // Rollback completo: los deltas vuelven a la tabla y se reintentan en la próxima pasada
+                    table.restorePending(rows);
+                    log.error("❌ Error al escribir standings de tournament={}, category={}: {}",
+                            table.getTournamentId(), table.getCategoryId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Upsert sobre uk_standing: primero el incremento atómico; si la fila aún no existe se
+     * inserta con los valores de la tabla. Si otra escritura la insertó antes, la violación
+     * de uk_standing revierte la transacción y el delta se reintenta como UPDATE.
+     */
+    private void writeRows(StandingsTable table, List<StandingsTable.Row> rows) {
+        for (StandingsTable.Row row : rows) {
+            int updated = standingRepository.applyDelta(table.getTournamentId(), table.getCategoryId(), row.getTeamId(),
+                    row.getPointsDelta(), row.getPlayedDelta(), row.getWinsDelta(), row.getDrawsDelta(),
+                    row.getLossesDelta(), row.getGoalsForDelta(), row.getGoalsAgainstDelta());
+            if (updated > 0) {
+                if (!row.isPersisted()) {
+                    table.markPersisted(row.getTeamId(), null);
+                }
+                continue;
+            }
+
+            Standing saved = standingRepository.saveAndFlush(toEntity(table, row));
+            table.markPersisted(row.getTeamId(), saved.getId());
+        }
+    }
+
+    /**
+     * Inserta la tabla completa de una categoría sin standings guardados. Los ids salen de
+     * la secuencia en bloques, así que saveAll se envía en lotes JDBC.
+     */
+    public void insertAll(StandingsTable table) {
+        List<Standing> standings = table.snapshot().stream()
+                .map(row -> toEntity(table, row))
+                .collect(Collectors.toList());
+        standingRepository.saveAll(standings);
+
+        table.markAllPersisted();
+        for (Standing standing : standings) {
+            table.markPersisted(standing.getTeam().getId(), standing.getId());
+        }
+    }
+
+    private Standing toEntity(StandingsTable table, StandingsTable.Row row) {
+        return Standing.builder()
+                .tournament(tournamentRepository.getReferenceById(table.getTournamentId()))
+                .category(categoryRepository.getReferenceById(table.getCategoryId()))
+                .team(teamRepository.getReferenceById(row.getTeamId()))
+                .points(row.getPoints())
+                .played(row.getPlayed())
+                .wins(row.getWins())
+                .draws(row.getDraws())
+                .losses(row.getLosses())
+                .goalsFor(row.getGoalsFor())
+                .goalsAgainst(row.getGoalsAgainst())
+                .build();
+    }
+
+    private StandingsTable loadTable(TableKey key, Long excludedMatchId) {
+        StandingsTable table = new StandingsTable(key.tournamentId(), key.categoryId());
+        for (Standing s : standingRepository.findByTournamentIdAndCategoryId(key.tournamentId(), key.categoryId())) {
+            table.load(new StandingsTable.Row(s.getId(), s.getTeam().getId(), s.getTeam().getName(),
+                    teamMapper.toSummaryDTO(s.getTeam()))
+                    .withStats(s.getPoints(), s.getPlayed(), s.getWins(), s.getDraws(), s.getLosses(),
+                            s.getGoalsFor(), s.getGoalsAgainst()));
+        }
+
+        // Enfrentamientos directos y forma reciente (una sola consulta de columnas planas)
+        for (Object[] score : matchResultRepository.findScoresByTournamentIdAndCategoryIdAndStatus(
+                key.tournamentId(), key.categoryId(), MatchStatus.FINISHED)) {
+            if (score[4].equals(excludedMatchId)) continue;
+            table.loadResult((Long) score[4], (LocalDateTime) score[5],
+                    (Long) score[0], (Long) score[1], (Integer) score[2], (Integer) score[3]);
+        }
+        return table;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record TableKey(Long tournamentId, Long categoryId) {
+    }
+
+    /**
+     * Reconstrucción en curso de una tabla: la tabla nueva y los deltas por reaplicarle.
+     */
+    public static final class Replacement {
+        private final TableKey key;
+        private final List<Consumer<StandingsTable>> deltas = new ArrayList<>();
+        private StandingsTable table;
+
+        private Replacement(TableKey key) {
+            this.key = key;
+        }
+    }
+}
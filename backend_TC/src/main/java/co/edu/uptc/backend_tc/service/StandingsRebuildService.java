@@ -0,0 +1,151 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.StandingsRebuildStatusDTO;
+import co.edu.uptc.backend_tc.exception.ResourceNotFoundException;
+import co.edu.uptc.backend_tc.model.JobStatus;
+import co.edu.uptc.backend_tc.repository.MatchRepository;
+import co.edu.uptc.backend_tc.repository.StandingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reconstrucción masiva de standings de todos los torneos y categorías.
+ *
+ * Cada (torneo, categoría) es una partición independiente que se recalcula en un hilo del
+ * pool {@code standingsRebuildExecutor} con su propia transacción corta, de modo que el
+ * tiempo total escala con el número de hilos y no con el número de categorías.
+ */
+@Service
+public class StandingsRebuildService {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsRebuildService.class);
+
+    private final StandingService standingService;
+    private final MatchRepository matchRepository;
+    private final StandingRepository standingRepository;
+    private final TaskExecutor executor;
+    private final long jobTtlMs;
+
+    private final Map<String, RebuildJob> jobs = new ConcurrentHashMap<>();
+    private volatile RebuildJob currentJob;
+
+    public StandingsRebuildService(StandingService standingService,
+                                   MatchRepository matchRepository,
+                                   StandingRepository standingRepository,
+                                   @Qualifier("standingsRebuildExecutor") TaskExecutor executor,
+                                   @Value("${app.standings.rebuild-job-ttl-ms:3600000}") long jobTtlMs) {
+        this.standingService = standingService;
+        this.matchRepository = matchRepository;
+        this.standingRepository = standingRepository;
+        this.executor = executor;
+        this.jobTtlMs = jobTtlMs;
+    }
+
+    /**
+     * Lanza la reconstrucción de todas las categorías. Si ya hay una en curso, devuelve esa.
+     */
+    public synchronized StandingsRebuildStatusDTO startRebuildAll() {
+        if (currentJob != null && currentJob.status == JobStatus.RUNNING) {
+            return currentJob.toDTO();
+        }
+
+        // Categorías con partidos más las que tienen standings (para limpiar las huérfanas)
+        Set<List<Long>> partitions = new LinkedHashSet<>();
+        for (Object[] pair : matchRepository.findDistinctTournamentAndCategoryIds()) {
+            partitions.add(List.of((Long) pair[0], (Long) pair[1]));
+        }
+        for (Object[] pair : standingRepository.findDistinctTournamentAndCategoryIds()) {
+            partitions.add(List.of((Long) pair[0], (Long) pair[1]));
+        }
+
+        RebuildJob job = new RebuildJob(UUID.randomUUID().toString(), partitions.size());
+        jobs.put(job.id, job);
+        currentJob = job;
+
+        log.info("🔄 Reconstrucción masiva {} iniciada: {} particiones", job.id, partitions.size());
+
+        if (partitions.isEmpty()) {
+            job.finish();
+        }
+        for (List<Long> partition : partitions) {
+            executor.execute(() -> rebuildPartition(job, partition.get(0), partition.get(1)));
+        }
+
+        return job.toDTO();
+    }
+
+    public StandingsRebuildStatusDTO getStatus(String jobId) {
+        RebuildJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Standings rebuild job", "id", jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Scheduled(fixedDelayString = "${app.standings.rebuild-job-ttl-ms:3600000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusNanos(jobTtlMs * 1_000_000L);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    private void rebuildPartition(RebuildJob job, Long tournamentId, Long categoryId) {
+        try {
+            // Transacción propia por partición (proxy de StandingService)
+            standingService.recalculateFromResults(tournamentId, categoryId);
+        } catch (Exception e) {
+            job.failures.add(tournamentId + "/" + categoryId);
+            log.error("❌ Error al reconstruir standings de tournament={}, category={}: {}",
+                    tournamentId, categoryId, e.getMessage());
+        } finally {
+            if (job.completed.incrementAndGet() == job.total) {
+                job.finish();
+                log.info("✅ Reconstrucción masiva {} terminada: {}/{} con errores",
+                        job.id, job.failures.size(), job.total);
+            }
+        }
+    }
+
+    private static class RebuildJob {
+        private final String id;
+        private final int total;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile JobStatus status = JobStatus.RUNNING;
+
+        private RebuildJob(String id, int total) {
+            this.id = id;
+            this.total = total;
+        }
+
+        private void finish() {
+            finishedAt = LocalDateTime.now();
+            status = failures.isEmpty() ? JobStatus.COMPLETED : JobStatus.FAILED;
+        }
+
+        private StandingsRebuildStatusDTO toDTO() {
+            return StandingsRebuildStatusDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .totalPartitions(total)
+                    .completedPartitions(completed.get())
+                    .failedPartitions(failures.size())
+                    .failures(new ArrayList<>(failures))
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
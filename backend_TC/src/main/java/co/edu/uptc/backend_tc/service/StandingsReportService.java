@@ -0,0 +1,159 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.repository.MatchResultRepository;
+import co.edu.uptc.backend_tc.repository.StandingReportRow;
+import co.edu.uptc.backend_tc.repository.StandingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Libro de tablas de posiciones: una hoja por torneo y categoría, con la clasificación
+ * completa (incluidos los desempates por enfrentamiento directo).
+ *
+ * Los datos de todos los torneos pedidos se leen con dos consultas (standings y
+ * marcadores) en una transacción corta; después cada hoja se escribe en paralelo en el
+ * pool {@code reportSheetExecutor} y el libro se arma al final con
+ * {@link MergedWorkbookWriter}, así que el tiempo depende de la categoría más grande y no
+ * de la suma de todas.
+ */
+@Service
+public class StandingsReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingsReportService.class);
+
+    private static final String[] HEADERS = {
+            "Posición", "Equipo", "PJ", "PG", "PE", "PP", "GF", "GC", "DG", "Puntos", "Forma"
+    };
+
+    private final StandingRepository standingRepository;
+    private final MatchResultRepository matchResultRepository;
+    private final StandingsEngine standingsEngine;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TaskExecutor executor;
+
+    public StandingsReportService(StandingRepository standingRepository,
+                                  MatchResultRepository matchResultRepository,
+                                  StandingsEngine standingsEngine,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier("reportSheetExecutor") TaskExecutor executor) {
+        this.standingRepository = standingRepository;
+        this.matchResultRepository = matchResultRepository;
+        this.standingsEngine = standingsEngine;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Tabla de una categoría con los nombres que lleva la hoja.
+     */
+    private record CategoryTable(String tournamentName, String categoryName, StandingsTable table) {
+    }
+
+    public void writeStandingsExcel(List<Long> tournamentIds, OutputStream out) throws IOException {
+        List<CategoryTable> tables = loadTables(tournamentIds);
+
+        List<String> names = tables.isEmpty()
+                ? List.of("Posiciones")
+                : MergedWorkbookWriter.safeSheetNames(tables.stream()
+                        .map(t -> t.tournamentName() + " - " + t.categoryName())
+                        .toList());
+
+        try (MergedWorkbookWriter workbook = new MergedWorkbookWriter(names)) {
+            if (tables.isEmpty()) {
+                workbook.writeSheet(0, HEADERS, List.of());
+            }
+
+            List<CompletableFuture<Void>> sheets = IntStream.range(0, tables.size())
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> writeSheet(workbook, i, tables.get(i)), executor))
+                    .toList();
+            try {
+                CompletableFuture.allOf(sheets.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                sheets.forEach(sheet -> sheet.cancel(true));
+                if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+
+            workbook.writeTo(out);
+        }
+        log.info("📊 Reporte de posiciones de torneos {} generado: {} hojas", tournamentIds, tables.size());
+    }
+
+    private void writeSheet(MergedWorkbookWriter workbook, int index, CategoryTable category) {
+        List<StandingsTable.Row> ranked = category.table().snapshot();
+        List<Object[]> rows = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            StandingsTable.Row row = ranked.get(i);
+            rows.add(new Object[]{
+                    i + 1, row.getTeamName(), row.getPlayed(), row.getWins(), row.getDraws(), row.getLosses(),
+                    row.getGoalsFor(), row.getGoalsAgainst(), row.getGoalDifference(), row.getPoints(),
+                    row.getForm()
+            });
+        }
+        try {
+            workbook.writeSheet(index, HEADERS, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Arma las tablas de todas las categorías de los torneos con una consulta de standings
+     * y otra de marcadores. Las categorías que ya están en memoria se toman del motor,
+     * porque pueden tener resultados que aún no se escribieron en la base de datos.
+     */
+    private List<CategoryTable> loadTables(List<Long> tournamentIds) {
+        if (tournamentIds == null || tournamentIds.isEmpty()) {
+            return List.of();
+        }
+
+        return readOnlyTransaction.execute(status -> {
+            // (torneo, categoría) -> tabla, en el orden de la consulta
+            Map<List<Long>, CategoryTable> tables = new LinkedHashMap<>();
+            try (Stream<StandingReportRow> rows = standingRepository.streamStandingRows(tournamentIds)) {
+                rows.forEach(row -> tables.computeIfAbsent(
+                                List.of(row.getTournamentId(), row.getCategoryId()),
+                                key -> new CategoryTable(row.getTournamentName(), row.getCategoryName(),
+                                        new StandingsTable(row.getTournamentId(), row.getCategoryId())))
+                        .table()
+                        .load(new StandingsTable.Row(null, row.getTeamId(), row.getTeamName(), null)
+                                .withStats(row.getPoints(), row.getPlayed(), row.getWins(), row.getDraws(),
+                                        row.getLosses(), row.getGoalsFor(), row.getGoalsAgainst())));
+            }
+
+            // Enfrentamientos directos y forma reciente
+            for (Object[] score : matchResultRepository.findScoresByTournamentIdsAndStatus(
+                    tournamentIds, MatchStatus.FINISHED)) {
+                CategoryTable category = tables.get(List.of((Long) score[0], (Long) score[1]));
+                if (category != null) {
+                    category.table().loadResult((Long) score[6], (LocalDateTime) score[7],
+                            (Long) score[2], (Long) score[3], (Integer) score[4], (Integer) score[5]);
+                }
+            }
+
+            List<CategoryTable> result = new ArrayList<>(tables.size());
+            tables.forEach((key, category) -> result.add(standingsEngine.findLoadedTable(key.get(0), key.get(1))
+                    .map(loaded -> new CategoryTable(category.tournamentName(), category.categoryName(), loaded))
+                    .orElse(category)));
+            return result;
+        });
+    }
+}
@@ -0,0 +1,420 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.dto.response.TeamSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Tabla de posiciones en memoria de un (torneo, categoría).
+ *
+ * Mantiene las filas ordenadas por puntos, diferencia de gol y goles a favor en un
+ * árbol; aplicar el resultado de un partido saca y reinserta las dos filas afectadas,
+ * por lo que cada delta cuesta O(log n). Las filas modificadas quedan marcadas como
+ * sucias, acumulando el delta pendiente, hasta que {@link StandingsEngine} lo aplica
+ * sobre la tabla {@code standings} con incrementos atómicos.
+ *
+ * La clasificación final desempata los equipos igualados en puntos, diferencia de gol y
+ * goles a favor con una mini-tabla de enfrentamientos directos ({@link HeadToHeadIndex});
+ * se calcula al leerla y queda en caché hasta que entra el siguiente resultado. Cada fila
+ * lleva además su forma reciente ({@link RecentForm}), actualizada con los mismos deltas.
+ */
+public class StandingsTable {
+
+    public static final Comparator<Row> ORDER = Comparator
+            .comparingInt((Row r) -> -r.points)
+            .thenComparingInt(r -> -r.getGoalDifference())
+            .thenComparingInt(r -> -r.goalsFor)
+            .thenComparing(r -> r.teamId);
+
+    private final Long tournamentId;
+    private final Long categoryId;
+    private final Map<Long, Row> rowsByTeam = new HashMap<>();
+    private final TreeSet<Row> ordered = new TreeSet<>(ORDER);
+    private final Set<Long> dirty = new HashSet<>();
+    private final HeadToHeadIndex headToHead = new HeadToHeadIndex(16);
+    // Marcador aplicado de cada partido, para reaplicar deltas sin duplicarlos
+    private final Map<Long, Long> scoresByMatch = new HashMap<>();
+
+    // Clasificación con desempates, válida hasta el próximo cambio
+    private List<Row> ranked;
+
+    public StandingsTable(Long tournamentId, Long categoryId) {
+        this.tournamentId = tournamentId;
+        this.categoryId = categoryId;
+    }
+
+    public Long getTournamentId() {
+        return tournamentId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public synchronized int size() {
+        return rowsByTeam.size();
+    }
+
+    public synchronized boolean contains(Long teamId) {
+        return rowsByTeam.containsKey(teamId);
+    }
+
+    /**
+     * Agrega una fila cargada desde la base de datos (no queda sucia).
+     */
+    public synchronized void load(Row row) {
+        Row previous = rowsByTeam.put(row.teamId, row);
+        if (previous != null) {
+            ordered.remove(previous);
+        }
+        ordered.add(row);
+        ranked = null;
+    }
+
+    /**
+     * Registra un resultado ya reflejado en las filas cargadas (enfrentamientos directos y
+     * forma reciente, sin tocar las estadísticas).
+     */
+    public synchronized void loadResult(Long matchId, LocalDateTime playedAt,
+                                        Long homeTeamId, Long awayTeamId, int homeScore, int awayScore) {
+        headToHead.record(matchId, homeTeamId, awayTeamId, homeScore, awayScore, 1);
+        scoresByMatch.put(matchId, packScore(homeScore, awayScore));
+        Row home = rowsByTeam.get(homeTeamId);
+        Row away = rowsByTeam.get(awayTeamId);
+        if (home != null && away != null) {
+            recordForm(home, away, matchId, playedAt, homeScore, awayScore, 1);
+        }
+        ranked = null;
+    }
+
+    /**
+     * Agrega una fila nueva en cero para un equipo que aún no tiene standing.
+     */
+    public synchronized void addTeamIfAbsent(Long teamId, String teamName, TeamSummaryDTO team) {
+        if (rowsByTeam.containsKey(teamId)) return;
+        Row row = new Row(null, teamId, teamName, team);
+        rowsByTeam.put(teamId, row);
+        ordered.add(row);
+        dirty.add(teamId);
+        ranked = null;
+    }
+
+    public void applyResult(Long homeTeamId, Long awayTeamId, int homeScore, int awayScore, int sign) {
+        applyResult(null, null, homeTeamId, awayTeamId, homeScore, awayScore, sign);
+    }
+
+    /**
+     * Aplica (sign = 1) o revierte (sign = -1) el resultado de un partido.
+     * Al revertir, los contadores nunca bajan de cero, igual que en la tabla persistida.
+     * Sin {@code matchId} no se actualiza la forma reciente.
+     */
+    public synchronized void applyResult(Long matchId, LocalDateTime playedAt, Long homeTeamId, Long awayTeamId,
+                                         int homeScore, int awayScore, int sign) {
+        Row home = rowsByTeam.get(homeTeamId);
+        Row away = rowsByTeam.get(awayTeamId);
+        if (home == null || away == null) {
+            return;
+        }
+
+        ordered.remove(home);
+        ordered.remove(away);
+
+        int[] homeBefore = home.stats();
+        int[] awayBefore = away.stats();
+
+        home.played = clamp(home.played + sign);
+        away.played = clamp(away.played + sign);
+        home.goalsFor = clamp(home.goalsFor + sign * homeScore);
+        home.goalsAgainst = clamp(home.goalsAgainst + sign * awayScore);
+        away.goalsFor = clamp(away.goalsFor + sign * awayScore);
+        away.goalsAgainst = clamp(away.goalsAgainst + sign * homeScore);
+
+        if (homeScore > awayScore) {
+            home.wins = clamp(home.wins + sign);
+            home.points = clamp(home.points + sign * 3);
+            away.losses = clamp(away.losses + sign);
+        } else if (homeScore < awayScore) {
+            away.wins = clamp(away.wins + sign);
+            away.points = clamp(away.points + sign * 3);
+            home.losses = clamp(home.losses + sign);
+        } else {
+            home.draws = clamp(home.draws + sign);
+            away.draws = clamp(away.draws + sign);
+            home.points = clamp(home.points + sign);
+            away.points = clamp(away.points + sign);
+        }
+
+        home.accumulatePending(homeBefore);
+        away.accumulatePending(awayBefore);
+        headToHead.record(matchId, homeTeamId, awayTeamId, homeScore, awayScore, sign);
+        if (matchId != null) {
+            if (sign > 0) {
+                scoresByMatch.put(matchId, packScore(homeScore, awayScore));
+            } else {
+                scoresByMatch.remove(matchId);
+            }
+            recordForm(home, away, matchId, playedAt, homeScore, awayScore, sign);
+        }
+        ranked = null;
+
+        ordered.add(home);
+        ordered.add(away);
+        dirty.add(homeTeamId);
+        dirty.add(awayTeamId);
+    }
+
+    /**
+     * Reaplica un delta que la tabla quizá ya incluye (una tabla reconstruida a partir de
+     * resultados que se confirmaban al mismo tiempo): un resultado se suma solo si el
+     * partido aún no tiene marcador aplicado y se revierte solo si el aplicado es ese mismo.
+     */
+    public synchronized void replayResult(Long matchId, LocalDateTime playedAt, Long homeTeamId, Long awayTeamId,
+                                          int homeScore, int awayScore, int sign) {
+        Long applied = scoresByMatch.get(matchId);
+        boolean matches = sign > 0 ? applied == null : Long.valueOf(packScore(homeScore, awayScore)).equals(applied);
+        if (matches) {
+            applyResult(matchId, playedAt, homeTeamId, awayTeamId, homeScore, awayScore, sign);
+        }
+    }
+
+    /**
+     * Datos del equipo de una fila, o {@code null} si el equipo no está en la tabla.
+     */
+    public synchronized TeamSummaryDTO findTeam(Long teamId) {
+        Row row = rowsByTeam.get(teamId);
+        return row != null ? row.team : null;
+    }
+
+    /**
+     * Copia de las filas en orden de clasificación (con desempates). Se reutiliza entre
+     * lecturas mientras no cambie la tabla.
+     */
+    public synchronized List<Row> snapshot() {
+        if (ranked == null) {
+            List<Row> rows = new ArrayList<>(ordered.size());
+            for (Row row : ordered) {
+                rows.add(row.copy());
+            }
+            breakTies(rows);
+            ranked = Collections.unmodifiableList(rows);
+        }
+        return ranked;
+    }
+
+    /**
+     * Reordena cada grupo de equipos igualados en puntos, diferencia de gol y goles a favor
+     * según la mini-tabla de sus enfrentamientos directos.
+     */
+    private void breakTies(List<Row> rows) {
+        int start = 0;
+        while (start < rows.size()) {
+            int end = start + 1;
+            while (end < rows.size() && isTied(rows.get(start), rows.get(end))) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortByHeadToHead(rows.subList(start, end));
+            }
+            start = end;
+        }
+    }
+
+    private void sortByHeadToHead(List<Row> group) {
+        // {puntos, goles a favor, goles en contra} solo entre los equipos del grupo
+        Map<Long, int[]> mini = new HashMap<>();
+        for (Row row : group) {
+            int[] stats = new int[3];
+            for (Row rival : group) {
+                if (rival == row) continue;
+                stats[0] += headToHead.points(row.teamId, rival.teamId);
+                stats[1] += headToHead.goals(row.teamId, rival.teamId);
+                stats[2] += headToHead.goals(rival.teamId, row.teamId);
+            }
+            mini.put(row.teamId, stats);
+        }
+
+        group.sort(Comparator
+                .comparingInt((Row r) -> -mini.get(r.teamId)[0])
+                .thenComparingInt(r -> -(mini.get(r.teamId)[1] - mini.get(r.teamId)[2]))
+                .thenComparingInt(r -> -mini.get(r.teamId)[1])
+                .thenComparing(r -> r.teamId));
+    }
+
+    private static boolean isTied(Row a, Row b) {
+        return a.points == b.points
+                && a.getGoalDifference() == b.getGoalDifference()
+                && a.goalsFor == b.goalsFor;
+    }
+
+    /**
+     * Devuelve copias de las filas sucias (con su delta pendiente) y limpia la marca.
+     */
+    public synchronized List<Row> drainDirty() {
+        List<Row> pending = new ArrayList<>(dirty.size());
+        for (Long teamId : dirty) {
+            Row row = rowsByTeam.get(teamId);
+            if (row != null) {
+                pending.add(row.copy());
+                Arrays.fill(row.pending, 0);
+            }
+        }
+        dirty.clear();
+        return pending;
+    }
+
+    /**
+     * Devuelve a la tabla los deltas de filas que no se pudieron escribir.
+     */
+    public synchronized void restorePending(Collection<Row> drained) {
+        for (Row copy : drained) {
+            Row row = rowsByTeam.get(copy.teamId);
+            if (row == null) continue;
+            for (int i = 0; i < row.pending.length; i++) {
+                row.pending[i] += copy.pending[i];
+            }
+            dirty.add(copy.teamId);
+        }
+    }
+
+    public synchronized boolean hasDirtyRows() {
+        return !dirty.isEmpty();
+    }
+
+    /**
+     * Registra que la fila de un equipo ya existe en la tabla {@code standings}.
+     */
+    public synchronized void markPersisted(Long teamId, Long standingId) {
+        Row row = rowsByTeam.get(teamId);
+        if (row != null) {
+            row.persisted = true;
+            if (standingId != null) {
+                row.standingId = standingId;
+            }
+            ranked = null;
+        }
+    }
+
+    /**
+     * Marca todas las filas como persistidas y limpias (tras una escritura completa).
+     */
+    public synchronized void markAllPersisted() {
+        for (Row row : rowsByTeam.values()) {
+            row.persisted = true;
+            Arrays.fill(row.pending, 0);
+        }
+        dirty.clear();
+        ranked = null;
+    }
+
+    private static void recordForm(Row home, Row away, Long matchId, LocalDateTime playedAt,
+                                   int homeScore, int awayScore, int sign) {
+        if (sign < 0) {
+            home.form.remove(matchId);
+            away.form.remove(matchId);
+            return;
+        }
+        long sortKey = playedAt != null ? playedAt.toEpochSecond(ZoneOffset.UTC) : 0L;
+        int homeOutcome = homeScore > awayScore ? RecentForm.WIN
+                : homeScore < awayScore ? RecentForm.LOSS : RecentForm.DRAW;
+        int awayOutcome = homeOutcome == RecentForm.DRAW ? RecentForm.DRAW
+                : homeOutcome == RecentForm.WIN ? RecentForm.LOSS : RecentForm.WIN;
+        home.form.record(matchId, sortKey, homeOutcome);
+        away.form.record(matchId, sortKey, awayOutcome);
+    }
+
+    private static long packScore(int homeScore, int awayScore) {
+        return ((long) homeScore << 32) | (awayScore & 0xffffffffL);
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, value);
+    }
+
+    /**
+     * Fila de la tabla: estadísticas primitivas más los datos del equipo que
+     * necesita la respuesta, resueltos una sola vez al cargar la tabla.
+     */
+    public static class Row {
+        private Long standingId;
+        private boolean persisted;
+        private final Long teamId;
+        private final String teamName;
+        private final TeamSummaryDTO team;
+        private int points;
+        private int played;
+        private int wins;
+        private int draws;
+        private int losses;
+        private int goalsFor;
+        private int goalsAgainst;
+
+        // Delta aún no escrito, en el orden de stats()
+        private final int[] pending = new int[7];
+
+        private RecentForm form = new RecentForm();
+
+        public Row(Long standingId, Long teamId, String teamName, TeamSummaryDTO team) {
+            this.standingId = standingId;
+            this.persisted = standingId != null;
+            this.teamId = teamId;
+            this.teamName = teamName;
+            this.team = team;
+        }
+
+        public Row withStats(int points, int played, int wins, int draws, int losses, int goalsFor, int goalsAgainst) {
+            this.points = points;
+            this.played = played;
+            this.wins = wins;
+            this.draws = draws;
+            this.losses = losses;
+            this.goalsFor = goalsFor;
+            this.goalsAgainst = goalsAgainst;
+            return this;
+        }
+
+        private Row copy() {
+            Row copy = new Row(standingId, teamId, teamName, team)
+                    .withStats(points, played, wins, draws, losses, goalsFor, goalsAgainst);
+            copy.persisted = persisted;
+            System.arraycopy(pending, 0, copy.pending, 0, pending.length);
+            copy.form = form.copy();
+            return copy;
+        }
+
+        private int[] stats() {
+            return new int[]{points, played, wins, draws, losses, goalsFor, goalsAgainst};
+        }
+
+        private void accumulatePending(int[] before) {
+            int[] after = stats();
+            for (int i = 0; i < pending.length; i++) {
+                pending[i] += after[i] - before[i];
+            }
+        }
+
+        public Long getStandingId() { return standingId; }
+        public boolean isPersisted() { return persisted; }
+        public Long getTeamId() { return teamId; }
+        public String getTeamName() { return teamName; }
+        public TeamSummaryDTO getTeam() { return team; }
+        public int getPoints() { return points; }
+        public int getPlayed() { return played; }
+        public int getWins() { return wins; }
+        public int getDraws() { return draws; }
+        public int getLosses() { return losses; }
+        public int getGoalsFor() { return goalsFor; }
+        public int getGoalsAgainst() { return goalsAgainst; }
+        public int getGoalDifference() { return goalsFor - goalsAgainst; }
+        public String getForm() { return form.encode(); }
+
+        public int getPointsDelta() { return pending[0]; }
+        public int getPlayedDelta() { return pending[1]; }
+        public int getWinsDelta() { return pending[2]; }
+        public int getDrawsDelta() { return pending[3]; }
+        public int getLossesDelta() { return pending[4]; }
+        public int getGoalsForDelta() { return pending[5]; }
+        public int getGoalsAgainstDelta() { return pending[6]; }
+    }
+}
@@ -0,0 +1,90 @@
+package co.edu.uptc.backend_tc.service;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Hoja de Excel que se escribe en streaming (SXSSF): solo las últimas
+ * {@value #WINDOW_SIZE} filas quedan en memoria y el resto va a un temporal comprimido.
+ *
+ * Como {@code autoSizeColumn} necesita todas las filas en memoria, el ancho de cada
+ * columna se calcula con el texto más largo visto al escribir.
+ */
+public class StreamingSheetWriter implements AutoCloseable {
+
+    private static final int WINDOW_SIZE = 100;
+    private static final int MAX_WIDTH_CHARS = 80;
+
+    private final SXSSFWorkbook workbook;
+    private Sheet sheet;
+    private int[] maxLengths;
+    private int rowIdx;
+
+    public StreamingSheetWriter() {
+        this.workbook = new SXSSFWorkbook(WINDOW_SIZE);
+        this.workbook.setCompressTempFiles(true);
+    }
+
+    /**
+     * Empieza una hoja nueva con su fila de encabezados.
+     */
+    public void startSheet(String name, String... headers) {
+        finishSheet();
+        sheet = workbook.createSheet(name);
+        maxLengths = new int[headers.length];
+        rowIdx = 0;
+        row((Object[]) headers);
+    }
+
+    /**
+     * Agrega una fila. Los números se escriben como numéricos, los null quedan vacíos y el
+     * resto como texto.
+     */
+    public void row(Object... values) {
+        Row row = sheet.createRow(rowIdx++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) continue;
+
+            String text;
+            if (value instanceof Number number) {
+                row.createCell(i).setCellValue(number.doubleValue());
+                text = value.toString();
+            } else {
+                text = value.toString();
+                row.createCell(i).setCellValue(text);
+            }
+            if (i < maxLengths.length && text.length() > maxLengths[i]) {
+                maxLengths[i] = text.length();
+            }
+        }
+    }
+
+    /**
+     * Escribe el libro directamente en el stream (p. ej. la respuesta HTTP).
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        finishSheet();
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // close() también borra los temporales de SXSSF
+        workbook.close();
+    }
+
+    private void finishSheet() {
+        if (sheet == null) return;
+        for (int i = 0; i < maxLengths.length; i++) {
+            int chars = Math.min(maxLengths[i] + 2, MAX_WIDTH_CHARS);
+            sheet.setColumnWidth(i, chars * 256);
+        }
+        sheet = null;
+    }
+}
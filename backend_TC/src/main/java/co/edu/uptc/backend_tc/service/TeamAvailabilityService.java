@@ -112,6 +112,9 @@ public class TeamAvailabilityService {
                 .map(dto -> availabilityMapper.toEntity(dto, team))
                 .toList();
 
+        // Mapa de bits semanal que usa la generación de fixture
+        team.setAvailabilitySlots(WeeklySlotBitmap.fromAvailabilities(entities).toBytes());
+
         return availabilityRepository.saveAll(entities)
                 .stream()
                 .map(availabilityMapper::toDTO)
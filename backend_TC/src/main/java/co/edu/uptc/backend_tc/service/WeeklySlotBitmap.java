@@ -0,0 +1,111 @@
+package co.edu.uptc.backend_tc.service;
+
+import co.edu.uptc.backend_tc.entity.TeamAvailability;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Disponibilidad semanal como mapa de bits: 7 días × 96 franjas de 15 minutos (672 bits,
+ * 84 bytes serializado). Un bit encendido significa que el equipo puede jugar esa franja.
+ *
+ * Intersecar la disponibilidad de dos equipos es un AND, y buscar un hueco para un
+ * partido es buscar una racha de bits encendidos lo bastante larga.
+ */
+public class WeeklySlotBitmap {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    private final BitSet bits;
+
+    public WeeklySlotBitmap() {
+        this.bits = new BitSet(SLOTS_PER_WEEK);
+    }
+
+    private WeeklySlotBitmap(BitSet bits) {
+        this.bits = bits;
+    }
+
+    public static WeeklySlotBitmap fromBytes(byte[] bytes) {
+        return new WeeklySlotBitmap(bytes == null ? new BitSet(SLOTS_PER_WEEK) : BitSet.valueOf(bytes));
+    }
+
+    public static WeeklySlotBitmap fromAvailabilities(Iterable<TeamAvailability> availabilities) {
+        WeeklySlotBitmap bitmap = new WeeklySlotBitmap();
+        for (TeamAvailability a : availabilities) {
+            if (Boolean.TRUE.equals(a.getAvailable())) {
+                bitmap.add(a.getDayOfWeek(), a.getStartTime(), a.getEndTime());
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Marca la ventana [start, end). Solo cuentan las franjas completas: el inicio se
+     * redondea hacia arriba y el fin hacia abajo al múltiplo de 15 minutos.
+     */
+    public void add(DayOfWeek day, LocalTime start, LocalTime end) {
+        int dayOffset = (day.getValue() - 1) * SLOTS_PER_DAY;
+        int from = (start.toSecondOfDay() / 60 + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        int to = end.equals(LocalTime.MAX) ? SLOTS_PER_DAY : end.toSecondOfDay() / 60 / SLOT_MINUTES;
+        if (to > from) {
+            bits.set(dayOffset + from, dayOffset + to);
+        }
+    }
+
+    public WeeklySlotBitmap and(WeeklySlotBitmap other) {
+        BitSet common = (BitSet) bits.clone();
+        common.and(other.bits);
+        return new WeeklySlotBitmap(common);
+    }
+
+    /**
+     * True si las {@code length} franjas desde {@code slotOfDay} están todas disponibles.
+     */
+    public boolean covers(DayOfWeek day, int slotOfDay, int length) {
+        int from = (day.getValue() - 1) * SLOTS_PER_DAY + slotOfDay;
+        return bits.nextClearBit(from) >= from + length;
+    }
+
+    public boolean isEmpty() {
+        return bits.isEmpty();
+    }
+
+    /**
+     * Horarios de inicio posibles para un partido de {@code matchSlots} franjas, dentro de
+     * cada racha libre y cada {@code stepSlots} franjas, en orden de día y hora.
+     */
+    public List<Slot> candidateStarts(int matchSlots, int stepSlots) {
+        List<Slot> starts = new ArrayList<>();
+        int runStart = bits.nextSetBit(0);
+        while (runStart >= 0 && runStart < SLOTS_PER_WEEK) {
+            // Las rachas no cruzan la medianoche
+            int dayEnd = (runStart / SLOTS_PER_DAY + 1) * SLOTS_PER_DAY;
+            int runEnd = Math.min(bits.nextClearBit(runStart), dayEnd);
+
+            for (int s = runStart; s + matchSlots <= runEnd; s += stepSlots) {
+                starts.add(toSlot(s));
+            }
+            runStart = bits.nextSetBit(runEnd);
+        }
+        return starts;
+    }
+
+    public byte[] toBytes() {
+        return bits.toByteArray();
+    }
+
+    private static Slot toSlot(int index) {
+        DayOfWeek day = DayOfWeek.of(index / SLOTS_PER_DAY + 1);
+        LocalTime time = LocalTime.ofSecondOfDay((long) (index % SLOTS_PER_DAY) * SLOT_MINUTES * 60);
+        return new Slot(day, time);
+    }
+
+    public record Slot(DayOfWeek dayOfWeek, LocalTime startTime) {
+    }
+}
@@ -0,0 +1,64 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.entity.BracketNode;
+import co.edu.uptc.backend_tc.entity.Category;
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.entity.Team;
+import co.edu.uptc.backend_tc.entity.Tournament;
+import co.edu.uptc.backend_tc.service.BracketService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para BracketService
+ *
+ * Estas pruebas validan la construcción del cuadro completo de eliminación
+ * directa con byes.
+ */
+@DisplayName("BracketService Unit Tests")
+class BracketServiceTest {
+
+    @Test
+    @DisplayName("Should build every round and move bye teams straight to round two")
+    void testBuild_WithFiveTeams_ShouldCreateByesAndSecondRoundMatch() {
+        BracketService service = new BracketService(null, null, null, null);
+        Tournament tournament = Tournament.builder().id(1L).build();
+        Category category = Category.builder().id(2L).build();
+
+        Map<Long, Team> teams = new HashMap<>();
+        for (long id = 1; id <= 5; id++) teams.put(id, Team.builder().id(id).build());
+
+        // Orden de siembra para 8 posiciones: 1, 8, 4, 5, 2, 7, 3, 6 (6, 7 y 8 son byes)
+        List<Long> slots = Arrays.asList(1L, null, 4L, 5L, 2L, null, 3L, null);
+
+        BracketService.Bracket bracket = service.build(tournament, category, slots, teams);
+
+        assertThat(bracket.nodes()).hasSize(7);
+        assertThat(bracket.rounds()).hasSize(2);
+
+        Match firstRound = bracket.rounds().get(0).get(0);
+        assertThat(bracket.rounds().get(0)).hasSize(1);
+        assertThat(firstRound.getHomeTeam().getId()).isEqualTo(4L);
+        assertThat(firstRound.getAwayTeam().getId()).isEqualTo(5L);
+
+        // 2 y 3 pasaron por bye y ya se enfrentan en la ronda 2
+        Match secondRound = bracket.rounds().get(1).get(0);
+        assertThat(secondRound.getHomeTeam().getId()).isEqualTo(2L);
+        assertThat(secondRound.getAwayTeam().getId()).isEqualTo(3L);
+
+        // 1 espera al ganador de 4 contra 5
+        BracketNode waiting = bracket.nodes().stream()
+                .filter(n -> n.getRound() == 2 && n.getPosition() == 0)
+                .findFirst().orElseThrow();
+        assertThat(waiting.getHomeTeam().getId()).isEqualTo(1L);
+        assertThat(waiting.getAwayTeam()).isNull();
+        assertThat(waiting.getMatch()).isNull();
+    }
+}
@@ -0,0 +1,47 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.service.FixtureOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para FixtureOccupancyIndex
+ *
+ * Estas pruebas validan la detección de conflictos de horario de los equipos
+ * durante la generación del fixture.
+ */
+@DisplayName("FixtureOccupancyIndex Unit Tests")
+class FixtureOccupancyIndexTest {
+
+    private static final LocalDateTime MONDAY_14 = LocalDateTime.of(2025, 3, 3, 14, 0);
+
+    private FixtureOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FixtureOccupancyIndex();
+        index.add(1L, MONDAY_14);
+    }
+
+    @Test
+    @DisplayName("Should detect a conflict for overlapping times on the same day")
+    void testHasConflict_WithinMatchDuration_ShouldBeTrue() {
+        assertThat(index.hasConflict(1L, 2L, MONDAY_14)).isTrue();
+        assertThat(index.hasConflict(2L, 1L, MONDAY_14.plusMinutes(90))).isTrue();
+        assertThat(index.hasConflict(2L, 1L, MONDAY_14.minusMinutes(119))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should allow back-to-back slots, other days and other teams")
+    void testHasConflict_OutsideMatchDuration_ShouldBeFalse() {
+        assertThat(index.hasConflict(1L, 2L, MONDAY_14.plusHours(2))).isFalse();
+        assertThat(index.hasConflict(1L, 2L, MONDAY_14.minusHours(2))).isFalse();
+        assertThat(index.hasConflict(1L, 2L, MONDAY_14.plusDays(1))).isFalse();
+        assertThat(index.hasConflict(2L, 3L, MONDAY_14)).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.entity.Scenario;
+import co.edu.uptc.backend_tc.entity.Team;
+import co.edu.uptc.backend_tc.entity.Tournament;
+import co.edu.uptc.backend_tc.service.FixtureOccupancyIndex;
+import co.edu.uptc.backend_tc.service.FixtureOptimizer;
+import co.edu.uptc.backend_tc.service.FixtureQuality;
+import co.edu.uptc.backend_tc.service.FixtureScheduler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para FixtureOptimizer
+ *
+ * Estas pruebas validan que el optimizador deja un fixture sin choques de
+ * equipos ni de escenarios partiendo de un horario en conflicto.
+ */
+@DisplayName("FixtureOptimizer Unit Tests")
+class FixtureOptimizerTest {
+
+    @Test
+    @DisplayName("Should remove team and scenario conflicts within the time budget")
+    void testOptimize_WithConflictingSchedule_ShouldResolveConflicts() {
+        LocalDate start = LocalDate.now().plusDays(7);
+        Tournament tournament = Tournament.builder().startDate(start).endDate(start.plusDays(20)).build();
+        Scenario scenario = Scenario.builder().id(1L).supportsNightGames(false).build();
+        FixtureScheduler scheduler = new FixtureScheduler(tournament, List.of(scenario), Map.of());
+
+        // Todos contra todos entre 4 equipos, todos a la misma hora
+        List<Team> teams = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) teams.add(Team.builder().id(id).build());
+        LocalDateTime sameTime = start.atTime(14, 0);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < teams.size(); i++) {
+            for (int j = i + 1; j < teams.size(); j++) {
+                matches.add(Match.builder().homeTeam(teams.get(i)).awayTeam(teams.get(j))
+                        .scenario(scenario).startsAt(sameTime).build());
+            }
+        }
+
+        FixtureOptimizer optimizer = new FixtureOptimizer(new SyncTaskExecutor(), 1, 500, 1000);
+        FixtureOptimizer.Result result = optimizer.optimize(scheduler, matches, 500L);
+
+        assertThat(result.teamConflicts()).isZero();
+        assertThat(result.scenarioConflicts()).isZero();
+
+        FixtureOccupancyIndex occupancy = new FixtureOccupancyIndex();
+        for (Match match : matches) {
+            assertThat(match.getStartsAt().toLocalDate()).isBetween(start, start.plusDays(20));
+            assertThat(occupancy.isBusy(match.getScenario().getId(), match.getStartsAt())).isFalse();
+            occupancy.add(match.getScenario().getId(), match.getStartsAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave matches without a conflict-free slot unscheduled")
+    void testOptimize_WithInfeasibleSlots_ShouldUnscheduleConflicts() {
+        // Un solo día hábil con un escenario: dos franjas (14:00 y 16:00) para tres partidos
+        LocalDate start = LocalDate.now().plusDays(7).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        Tournament tournament = Tournament.builder().startDate(start).endDate(start).build();
+        Scenario scenario = Scenario.builder().id(1L).supportsNightGames(false).build();
+        FixtureScheduler scheduler = new FixtureScheduler(tournament, List.of(scenario), Map.of());
+
+        List<Match> matches = new ArrayList<>();
+        for (long id = 1; id <= 6; id += 2) {
+            matches.add(Match.builder().homeTeam(Team.builder().id(id).build())
+                    .awayTeam(Team.builder().id(id + 1).build())
+                    .scenario(scenario).startsAt(start.atTime(14, 0)).build());
+        }
+
+        FixtureOptimizer optimizer = new FixtureOptimizer(new SyncTaskExecutor(), 1, 200, 1000);
+        FixtureOptimizer.Result result = optimizer.optimize(scheduler, matches, 200L);
+
+        assertThat(result.unscheduled()).isEqualTo(1);
+        FixtureQuality quality = FixtureQuality.evaluate(scheduler, matches);
+        assertThat(quality.unscheduled()).isEqualTo(1);
+        assertThat(quality.teamConflicts()).isZero();
+        assertThat(quality.scenarioConflicts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should split the tournament budget across categories and respect the limits")
+    void testBudgetFor_ShouldSplitTotalBudget() {
+        FixtureOptimizer optimizer = new FixtureOptimizer(new SyncTaskExecutor(), 2, 2000, 20000);
+
+        assertThat(optimizer.budgetFor(6000L, 3)).isEqualTo(2000);
+        assertThat(optimizer.budgetFor(null, 4)).isEqualTo(500);
+        assertThat(optimizer.budgetFor(60000L, 2)).isEqualTo(10000);
+        assertThat(optimizer.budgetFor(1000L, 50)).isEqualTo(100);
+    }
+}
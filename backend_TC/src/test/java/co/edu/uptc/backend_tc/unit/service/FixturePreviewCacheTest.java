@@ -0,0 +1,39 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.dto.response.FixturePreviewDTO;
+import co.edu.uptc.backend_tc.service.FixturePreviewCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para FixturePreviewCache
+ *
+ * Estas pruebas validan que una vista previa se confirma una sola vez y
+ * que la caché no supera su capacidad.
+ */
+@DisplayName("FixturePreviewCache Unit Tests")
+class FixturePreviewCacheTest {
+
+    @Test
+    @DisplayName("Should hand out a preview only once and evict when full")
+    void testTake_ShouldConsumeTokenAndRespectCapacity() {
+        FixturePreviewCache cache = new FixturePreviewCache(60_000, 2);
+
+        FixturePreviewDTO first = cache.put(FixturePreviewDTO.builder().tournamentId(1L).build());
+        assertThat(first.getToken()).isNotBlank();
+        assertThat(cache.get(first.getToken())).contains(first);
+
+        assertThat(cache.take(first.getToken())).contains(first);
+        assertThat(cache.take(first.getToken())).isEmpty();
+
+        FixturePreviewDTO a = cache.put(FixturePreviewDTO.builder().tournamentId(2L).build());
+        FixturePreviewDTO b = cache.put(FixturePreviewDTO.builder().tournamentId(3L).build());
+        FixturePreviewDTO c = cache.put(FixturePreviewDTO.builder().tournamentId(4L).build());
+
+        assertThat(cache.get(a.getToken())).isEmpty();
+        assertThat(cache.get(b.getToken())).isPresent();
+        assertThat(cache.get(c.getToken())).isPresent();
+    }
+}
@@ -0,0 +1,91 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.entity.Match;
+import co.edu.uptc.backend_tc.entity.Scenario;
+import co.edu.uptc.backend_tc.entity.Team;
+import co.edu.uptc.backend_tc.entity.Tournament;
+import co.edu.uptc.backend_tc.service.FixtureOccupancyIndex;
+import co.edu.uptc.backend_tc.service.FixtureQuality;
+import co.edu.uptc.backend_tc.service.FixtureScheduler;
+import co.edu.uptc.backend_tc.service.FixtureSchedulingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para FixtureSchedulingService
+ *
+ * Estas pruebas validan que al fusionar categorías programadas por separado
+ * no quedan dos partidos en el mismo escenario a la vez.
+ */
+@DisplayName("FixtureSchedulingService Unit Tests")
+class FixtureSchedulingServiceTest {
+
+    @Test
+    @DisplayName("Should move only the matches that clash on a shared scenario when merging")
+    void testScheduleByCategory_WithSharedScenario_ShouldResolveClash() {
+        LocalDate start = LocalDate.now().plusDays(7).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        Tournament tournament = Tournament.builder().startDate(start).endDate(start.plusDays(13)).build();
+        Scenario court = Scenario.builder().id(1L).supportsNightGames(false).build();
+        FixtureScheduler base = new FixtureScheduler(tournament, List.of(court), Map.of());
+
+        // Dos categorías con un partido cada una; por separado ambas toman el primer horario
+        Map<Long, List<List<Match>>> roundsByCategory = new LinkedHashMap<>();
+        roundsByCategory.put(10L, List.of(List.of(match(1L, 2L))));
+        roundsByCategory.put(20L, List.of(List.of(match(3L, 4L))));
+
+        FixtureSchedulingService service = new FixtureSchedulingService(null, new SyncTaskExecutor());
+        FixtureSchedulingService.Schedule schedule =
+                service.scheduleByCategory(base, "round_robin", roundsByCategory, null);
+
+        List<Match> matches = schedule.matches();
+        assertThat(matches).hasSize(2);
+        assertThat(matches.get(0).getStartsAt()).isEqualTo(start.atTime(14, 0));
+        assertThat(matches.get(1).getStartsAt()).isEqualTo(start.atTime(16, 0));
+
+        FixtureOccupancyIndex occupancy = new FixtureOccupancyIndex();
+        for (Match match : matches) {
+            assertThat(occupancy.isBusy(court.getId(), match.getStartsAt())).isFalse();
+            occupancy.add(court.getId(), match.getStartsAt());
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave matches without a free slot unscheduled and report them")
+    void testSchedule_WithoutFreeSlot_ShouldReportUnscheduledMatch() {
+        // Un solo día hábil con un escenario: caben dos partidos (14:00 y 16:00)
+        LocalDate start = LocalDate.now().plusDays(7).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        Tournament tournament = Tournament.builder().startDate(start).endDate(start).build();
+        Scenario court = Scenario.builder().id(1L).supportsNightGames(false).build();
+        FixtureScheduler scheduler = new FixtureScheduler(tournament, List.of(court), Map.of());
+
+        List<List<Match>> rounds = List.of(List.of(match(1L, 2L), match(3L, 4L), match(5L, 6L)));
+
+        FixtureSchedulingService service = new FixtureSchedulingService(null, new SyncTaskExecutor());
+        List<Match> matches = service.schedule(scheduler, "round_robin", List.of(rounds), null);
+
+        assertThat(matches).extracting(Match::getStartsAt)
+                .containsExactly(start.atTime(14, 0), start.atTime(16, 0), null);
+        assertThat(matches.get(2).getScenario()).isNull();
+
+        FixtureQuality quality = FixtureQuality.evaluate(scheduler, matches);
+        assertThat(quality.unscheduled()).isEqualTo(1);
+        assertThat(quality.scenarioConflicts()).isZero();
+    }
+
+    private static Match match(Long home, Long away) {
+        return Match.builder()
+                .homeTeam(Team.builder().id(home).build())
+                .awayTeam(Team.builder().id(away).build())
+                .build();
+    }
+}
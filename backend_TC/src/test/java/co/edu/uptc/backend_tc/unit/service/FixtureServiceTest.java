@@ -0,0 +1,214 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.dto.response.StandingResponseDTO;
+import co.edu.uptc.backend_tc.dto.response.TeamSummaryDTO;
+import co.edu.uptc.backend_tc.entity.*;
+import co.edu.uptc.backend_tc.exception.BusinessException;
+import co.edu.uptc.backend_tc.model.InscriptionStatus;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.model.TournamentStatus;
+import co.edu.uptc.backend_tc.repository.*;
+import co.edu.uptc.backend_tc.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para FixtureService
+ *
+ * Estas pruebas validan la generación de rondas del sistema suizo: descanso
+ * con número impar de equipos, emparejamientos sin revancha y conteo de rondas.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FixtureService Unit Tests")
+class FixtureServiceTest {
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private ScenarioRepository scenarioRepository;
+
+    @Mock
+    private FixtureSchedulerFactory schedulerFactory;
+
+    @Mock
+    private FixtureSchedulingService schedulingService;
+
+    @Mock
+    private FixturePreviewCache previewCache;
+
+    @Mock
+    private BracketService bracketService;
+
+    @Mock
+    private StandingService standingService;
+
+    private FixtureService fixtureService;
+    private Tournament tournament;
+    private Category category;
+    private Map<Long, Team> teams;
+
+    @BeforeEach
+    void setUp() {
+        fixtureService = new FixtureService(tournamentRepository, teamRepository, categoryRepository,
+                matchRepository, scenarioRepository, schedulerFactory, schedulingService, previewCache,
+                bracketService, standingService);
+
+        tournament = Tournament.builder().id(1L).status(TournamentStatus.IN_PROGRESS)
+                .startDate(LocalDate.now().minusDays(10)).endDate(LocalDate.now().plusDays(60)).build();
+        category = Category.builder().id(2L).build();
+        teams = new HashMap<>();
+        for (long id = 1; id <= 5; id++) {
+            teams.put(id, Team.builder().id(id).name("Team " + id)
+                    .originInscription(Inscription.builder().status(InscriptionStatus.APPROVED).build())
+                    .build());
+        }
+
+        when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(category));
+    }
+
+    @Test
+    @DisplayName("Should give the bye to a team that has not rested yet with an odd number of teams")
+    void testGenerateNextSwissRound_WithOddTeams_ShouldRotateBye() {
+        approved(1L, 2L, 3L, 4L, 5L);
+        // Ronda 1: 1-3, 2-4 y descansa el 5
+        played(match(1L, 3L, 1), match(2L, 4L, 1));
+        ranking(1L, 2L, 3L, 4L, 5L);
+
+        List<Match> round = generateNextRound();
+
+        assertThat(round).hasSize(2);
+        assertThat(round).allSatisfy(m -> assertThat(m.getSwissRound()).isEqualTo(2));
+        assertThat(teamsIn(round)).contains(5L).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should pair each team with the next ranked team it has not played")
+    void testGenerateNextSwissRound_ShouldAvoidRematches() {
+        approved(1L, 2L, 3L, 4L);
+        played(match(1L, 3L, 1), match(2L, 4L, 1));
+        // El orden de la tabla juntaría 1-3 y 2-4 otra vez
+        ranking(1L, 3L, 2L, 4L);
+
+        List<Match> round = generateNextRound();
+
+        assertThat(pairings(round)).containsExactlyInAnyOrder(List.of(1L, 2L), List.of(3L, 4L));
+    }
+
+    @Test
+    @DisplayName("Should stop with SWISS_COMPLETED after ceil(log2(n)) rounds")
+    void testGenerateNextSwissRound_AfterAllRounds_ShouldThrowCompleted() {
+        approved(1L, 2L, 3L, 4L);
+        played(match(1L, 3L, 1), match(2L, 4L, 1), match(1L, 2L, 2), match(3L, 4L, 2));
+
+        assertThatThrownBy(() -> fixtureService.generateNextSwissRound(1L, 2L))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo("SWISS_COMPLETED");
+        verify(matchRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should count rounds from the stored round numbers when approved teams change")
+    void testGenerateNextSwissRound_WhenTeamsChange_ShouldUseStoredRounds() {
+        // Ronda 1 con cuatro equipos; luego el 4 deja de estar aprobado
+        approved(1L, 2L, 3L);
+        played(match(1L, 3L, 1), match(2L, 4L, 1));
+        ranking(1L, 2L, 3L);
+
+        List<Match> round = generateNextRound();
+
+        assertThat(round).hasSize(1);
+        assertThat(round.get(0).getSwissRound()).isEqualTo(2);
+    }
+
+    private List<Match> generateNextRound() {
+        when(schedulerFactory.create(eq(tournament), anyList(), anySet()))
+                .thenReturn(new FixtureScheduler(tournament, List.of(), Map.of()));
+        when(schedulingService.schedule(any(), eq("swiss"), anyCollection(), isNull()))
+                .thenAnswer(inv -> {
+                    Collection<List<List<Match>>> rounds = inv.getArgument(2);
+                    List<Match> round = new ArrayList<>(rounds.iterator().next().get(0));
+                    round.forEach(m -> m.setStartsAt(LocalDate.now().plusDays(1).atTime(14, 0)));
+                    return round;
+                });
+
+        int created = fixtureService.generateNextSwissRound(1L, 2L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Match>> saved = ArgumentCaptor.forClass(List.class);
+        verify(matchRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(created);
+        return saved.getValue();
+    }
+
+    private void approved(Long... ids) {
+        when(teamRepository.findByTournamentIdAndCategoryId(1L, 2L))
+                .thenReturn(Arrays.stream(ids).map(teams::get).collect(Collectors.toList()));
+    }
+
+    private void played(Match... matches) {
+        when(matchRepository.findByTournamentIdAndCategoryId(1L, 2L)).thenReturn(List.of(matches));
+    }
+
+    private void ranking(Long... ids) {
+        List<StandingResponseDTO> standings = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            standings.add(StandingResponseDTO.builder()
+                    .position(i + 1)
+                    .team(TeamSummaryDTO.builder().id(ids[i]).build())
+                    .build());
+        }
+        when(standingService.getStandingsWithPosition(1L, 2L)).thenReturn(standings);
+    }
+
+    private Match match(Long home, Long away, int swissRound) {
+        return Match.builder()
+                .tournament(tournament)
+                .category(category)
+                .homeTeam(teams.get(home))
+                .awayTeam(teams.get(away))
+                .status(MatchStatus.FINISHED)
+                .swissRound(swissRound)
+                .build();
+    }
+
+    private static Set<Long> teamsIn(List<Match> matches) {
+        Set<Long> ids = new HashSet<>();
+        for (Match m : matches) {
+            ids.add(m.getHomeTeam().getId());
+            ids.add(m.getAwayTeam().getId());
+        }
+        return ids;
+    }
+
+    private static List<List<Long>> pairings(List<Match> matches) {
+        return matches.stream()
+                .map(m -> List.of(Math.min(m.getHomeTeam().getId(), m.getAwayTeam().getId()),
+                        Math.max(m.getHomeTeam().getId(), m.getAwayTeam().getId())))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,200 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.dto.MatchEventDTO;
+import co.edu.uptc.backend_tc.dto.response.MatchEventBatchResponseDTO;
+import co.edu.uptc.backend_tc.entity.*;
+import co.edu.uptc.backend_tc.exception.BadRequestException;
+import co.edu.uptc.backend_tc.mapper.MatchEventMapper;
+import co.edu.uptc.backend_tc.mapper.PlayerMapper;
+import co.edu.uptc.backend_tc.mapper.TeamMapper;
+import co.edu.uptc.backend_tc.model.MatchEventType;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.repository.MatchEventRepository;
+import co.edu.uptc.backend_tc.repository.MatchRepository;
+import co.edu.uptc.backend_tc.repository.PlayerRepository;
+import co.edu.uptc.backend_tc.repository.TeamRosterRepository;
+import co.edu.uptc.backend_tc.service.LiveUpdateService;
+import co.edu.uptc.backend_tc.service.MatchEventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para MatchEventService
+ *
+ * Estas pruebas validan el registro de eventos, individual y por lotes:
+ * validación de los jugadores contra los rosters e idempotencia por clave.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchEventService Unit Tests")
+class MatchEventServiceTest {
+
+    @Mock
+    private MatchEventRepository matchEventRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private TeamRosterRepository teamRosterRepository;
+
+    @Mock
+    private PlayerMapper playerMapper;
+
+    @Mock
+    private TeamMapper teamMapper;
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private MatchEventService matchEventService;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        matchEventService = new MatchEventService(matchEventRepository, matchRepository, playerRepository,
+                teamRosterRepository, new MatchEventMapper(playerMapper), teamMapper, liveUpdateService,
+                transactionTemplate);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        match = Match.builder()
+                .id(7L)
+                .status(MatchStatus.IN_PROGRESS)
+                .tournament(Tournament.builder().id(1L).build())
+                .category(Category.builder().id(2L).build())
+                .homeTeam(Team.builder().id(10L).build())
+                .awayTeam(Team.builder().id(20L).build())
+                .build();
+        lenient().when(matchRepository.findByIdWithTeams(7L)).thenReturn(Optional.of(match));
+        lenient().when(teamRosterRepository.findPlayerTeamPairsByTeamIds(List.of(10L, 20L)))
+                .thenReturn(List.of(new Object[]{100L, 10L}, new Object[]{200L, 20L}));
+    }
+
+    @Test
+    @DisplayName("Should insert only new events and return existing ones for repeated keys")
+    void testCreateBatch_ShouldSkipKnownIdempotencyKeys() {
+        MatchEvent existing = MatchEvent.builder()
+                .id(55L).match(match).player(Player.builder().id(100L).build())
+                .type(MatchEventType.GOAL).minute(3).idempotencyKey("dev-1").build();
+        when(matchEventRepository.findByMatchIdAndIdempotencyKeyIn(eq(7L), anyCollection()))
+                .thenReturn(List.of(existing));
+        when(playerRepository.getReferenceById(anyLong()))
+                .thenAnswer(inv -> Player.builder().id(inv.getArgument(0)).build());
+
+        MatchEventBatchResponseDTO response = matchEventService.createBatch(7L, List.of(
+                event(100L, MatchEventType.GOAL, 3, "dev-1"),
+                event(200L, MatchEventType.YELLOW_CARD, 10, "dev-2"),
+                event(200L, MatchEventType.YELLOW_CARD, 10, "dev-2"),
+                event(100L, MatchEventType.GOAL, 15, null)
+        ));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MatchEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(matchEventRepository).saveAllAndFlush(saved.capture());
+        assertThat(saved.getValue()).extracting(MatchEvent::getMinute).containsExactly(10, 15);
+
+        assertThat(response.getCreated()).isEqualTo(2);
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.getEvents()).extracting(MatchEventDTO::getMinute).containsExactly(3, 10, 10, 15);
+        assertThat(response.getEvents().get(0).getId()).isEqualTo(55L);
+        verify(liveUpdateService, times(2)).publish(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when a player is not in either roster")
+    void testCreateBatch_PlayerNotInMatch_ShouldRejectBatch() {
+        assertThatThrownBy(() -> matchEventService.createBatch(7L, List.of(
+                event(100L, MatchEventType.GOAL, 3, "dev-1"),
+                event(999L, MatchEventType.GOAL, 5, "dev-2")
+        )))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("not part of any team");
+
+        verify(matchEventRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should return the events of a concurrent retry when its keys win the unique constraint")
+    void testCreateBatch_ConcurrentRetry_ShouldReturnExistingEvents() {
+        MatchEvent first = MatchEvent.builder()
+                .id(61L).match(match).player(Player.builder().id(100L).build())
+                .type(MatchEventType.GOAL).minute(3).idempotencyKey("dev-1").build();
+        MatchEvent second = MatchEvent.builder()
+                .id(62L).match(match).player(Player.builder().id(200L).build())
+                .type(MatchEventType.YELLOW_CARD).minute(10).idempotencyKey("dev-2").build();
+        // La primera lectura no ve las claves; el otro reintento confirma antes
+        when(matchEventRepository.findByMatchIdAndIdempotencyKeyIn(eq(7L), anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(first, second));
+        when(playerRepository.getReferenceById(anyLong()))
+                .thenAnswer(inv -> Player.builder().id(inv.getArgument(0)).build());
+        when(matchEventRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_match_event_idempotency"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        MatchEventBatchResponseDTO response = matchEventService.createBatch(7L, List.of(
+                event(100L, MatchEventType.GOAL, 3, "dev-1"),
+                event(200L, MatchEventType.YELLOW_CARD, 10, "dev-2")
+        ));
+
+        assertThat(response.getCreated()).isZero();
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.getEvents()).extracting(MatchEventDTO::getId).containsExactly(61L, 62L);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should return the event of a concurrent retry when its key wins the unique constraint")
+    void testCreate_ConcurrentRetry_ShouldReturnExistingEvent() {
+        MatchEvent existing = MatchEvent.builder()
+                .id(61L).match(match).player(Player.builder().id(100L).build())
+                .type(MatchEventType.GOAL).minute(3).idempotencyKey("dev-1").build();
+        when(matchRepository.findById(7L)).thenReturn(Optional.of(match));
+        // La primera lectura no ve la clave; el otro reintento confirma antes
+        when(matchEventRepository.findByMatchIdAndIdempotencyKey(7L, "dev-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing));
+        when(playerRepository.findById(100L)).thenReturn(Optional.of(Player.builder().id(100L).build()));
+        when(teamRosterRepository.existsByPlayerIdAndTeamId(100L, 10L)).thenReturn(true);
+        when(matchEventRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_match_event_idempotency"));
+
+        MatchEventDTO dto = event(100L, MatchEventType.GOAL, 3, "dev-1");
+        dto.setMatchId(7L);
+        MatchEventDTO result = matchEventService.create(dto);
+
+        assertThat(result.getId()).isEqualTo(61L);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(liveUpdateService, never()).publish(any());
+    }
+
+    private static MatchEventDTO event(Long playerId, MatchEventType type, Integer minute, String key) {
+        return MatchEventDTO.builder()
+                .playerId(playerId)
+                .type(type)
+                .minute(minute)
+                .idempotencyKey(key)
+                .build();
+    }
+}
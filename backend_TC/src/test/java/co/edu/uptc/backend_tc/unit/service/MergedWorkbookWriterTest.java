@@ -0,0 +1,65 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.service.MergedWorkbookWriter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para MergedWorkbookWriter
+ *
+ * Estas pruebas validan que las hojas escritas por separado (y en paralelo)
+ * quedan unidas en un libro .xlsx válido.
+ */
+@DisplayName("MergedWorkbookWriter Unit Tests")
+class MergedWorkbookWriterTest {
+
+    @Test
+    @DisplayName("Should merge sheets written in parallel into a readable workbook")
+    void testWriteTo_ShouldMergeSheets() throws Exception {
+        List<String> names = MergedWorkbookWriter.safeSheetNames(
+                List.of("Copa UPTC - Fútbol", "Copa UPTC - Fútbol", "Torneo: [A/B]"));
+        assertThat(names).containsExactly("Copa UPTC - Fútbol", "Copa UPTC - Fútbol (2)", "Torneo   A B ");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MergedWorkbookWriter writer = new MergedWorkbookWriter(names)) {
+            String[] headers = {"Posición", "Equipo", "Puntos"};
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> write(writer, 0, headers, List.of(
+                            new Object[]{1, "Águilas & Co <UPTC>", 9}, new Object[]{2, "Leones", 6}))),
+                    CompletableFuture.runAsync(() -> write(writer, 1, headers, List.of())),
+                    CompletableFuture.runAsync(() -> write(writer, 2, headers, List.<Object[]>of(
+                            new Object[]{1, null, 3})))
+            ).join();
+            writer.writeTo(out);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+
+            Sheet first = workbook.getSheet("Copa UPTC - Fútbol");
+            assertThat(first.getRow(0).getCell(1).getStringCellValue()).isEqualTo("Equipo");
+            assertThat(first.getRow(1).getCell(1).getStringCellValue()).isEqualTo("Águilas & Co <UPTC>");
+            assertThat(first.getRow(2).getCell(2).getNumericCellValue()).isEqualTo(6);
+
+            assertThat(workbook.getSheetAt(1).getLastRowNum()).isZero();
+            assertThat(workbook.getSheetAt(2).getRow(1).getCell(1)).isNull();
+        }
+    }
+
+    private static void write(MergedWorkbookWriter writer, int index, String[] headers, List<Object[]> rows) {
+        try {
+            writer.writeSheet(index, headers, rows);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
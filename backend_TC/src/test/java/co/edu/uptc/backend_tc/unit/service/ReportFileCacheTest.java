@@ -0,0 +1,41 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.service.ReportFileCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para ReportFileCache
+ *
+ * Estas pruebas validan que un reporte guardado se reutiliza con la misma
+ * clave y deja de encontrarse tras invalidar la caché.
+ */
+@DisplayName("ReportFileCache Unit Tests")
+class ReportFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should reuse a stored report until the cache is invalidated")
+    void testFind_ShouldHitUntilInvalidated() throws Exception {
+        ReportFileCache cache = new ReportFileCache(directory.toString(), 60_000);
+        cache.init();
+
+        String key = cache.keyFor("STANDINGS|[1, 2]|3-10-0");
+        assertThat(cache.find(key)).isEmpty();
+
+        Path stored = cache.store(key, out -> out.write("xlsx".getBytes()));
+        assertThat(cache.find(cache.keyFor("STANDINGS|[1, 2]|3-10-0"))).contains(stored);
+        assertThat(Files.readString(stored)).isEqualTo("xlsx");
+
+        cache.invalidateAll();
+        assertThat(cache.find(cache.keyFor("STANDINGS|[1, 2]|3-10-0"))).isEmpty();
+    }
+}
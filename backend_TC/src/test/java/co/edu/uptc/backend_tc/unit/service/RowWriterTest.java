@@ -0,0 +1,49 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.model.ExportFormat;
+import co.edu.uptc.backend_tc.service.RowWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para RowWriter
+ *
+ * Estas pruebas validan el formato de las exportaciones en texto: escapes
+ * de CSV y un objeto JSON por línea en NDJSON.
+ */
+@DisplayName("RowWriter Unit Tests")
+class RowWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should quote CSV values with commas or quotes and leave nulls empty")
+    void testCsv_ShouldEscapeValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RowWriter writer = RowWriter.of(ExportFormat.CSV, out, objectMapper, "id", "name", "email");
+        writer.row(1L, "Pérez, Ana \"La Flecha\"", null);
+        writer.finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("id,name,email\r\n1,\"Pérez, Ana \"\"La Flecha\"\"\",\r\n");
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line in NDJSON")
+    void testNdjson_ShouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RowWriter writer = RowWriter.of(ExportFormat.NDJSON, out, objectMapper, "id", "name");
+        writer.row(1L, "Ana");
+        writer.row(2L, null);
+        writer.finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":1,\"name\":\"Ana\"}\n{\"id\":2,\"name\":null}\n");
+    }
+}
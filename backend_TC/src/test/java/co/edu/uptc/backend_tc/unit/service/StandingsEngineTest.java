@@ -0,0 +1,171 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.dto.response.TeamSummaryDTO;
+import co.edu.uptc.backend_tc.entity.*;
+import co.edu.uptc.backend_tc.mapper.TeamMapper;
+import co.edu.uptc.backend_tc.model.MatchStatus;
+import co.edu.uptc.backend_tc.repository.*;
+import co.edu.uptc.backend_tc.service.StandingsEngine;
+import co.edu.uptc.backend_tc.service.StandingsTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para StandingsEngine
+ *
+ * Estas pruebas validan la carga en frío de una tabla dentro de la misma
+ * transacción que registra un resultado y el reemplazo de una tabla reconstruida
+ * mientras se confirman otros resultados.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StandingsEngine Unit Tests")
+class StandingsEngineTest {
+
+    @Mock
+    private StandingRepository standingRepository;
+
+    @Mock
+    private MatchResultRepository matchResultRepository;
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private TeamMapper teamMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private StandingsEngine engine;
+
+    private Tournament tournament;
+    private Category category;
+    private Team alpha;
+    private Team beta;
+    private Team gamma;
+
+    @BeforeEach
+    void setUp() {
+        engine = new StandingsEngine(standingRepository, matchResultRepository, tournamentRepository,
+                categoryRepository, teamRepository, teamMapper, transactionTemplate);
+
+        tournament = Tournament.builder().id(1L).name("Copa").build();
+        category = Category.builder().id(2L).name("Libre").build();
+        alpha = Team.builder().id(10L).name("Team Alpha").build();
+        beta = Team.builder().id(20L).name("Team Beta").build();
+        gamma = Team.builder().id(30L).name("Team Gamma").build();
+    }
+
+    @Test
+    @DisplayName("Should not count the result being registered twice when the table is loaded cold")
+    void testApplyResult_WithColdTable_ShouldBreakTieWithCommittedHeadToHead() {
+        // Confirmado: Alpha 3-0 Beta, Alpha 3-2 Gamma, Beta 5-0 Gamma
+        when(standingRepository.findByTournamentIdAndCategoryId(1L, 2L)).thenReturn(List.of(
+                standing(1L, alpha, 6, 2, 2, 0, 0, 6, 2),
+                standing(2L, beta, 3, 2, 1, 0, 1, 5, 3),
+                standing(3L, gamma, 0, 2, 0, 0, 2, 2, 8)));
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 0);
+        Match current = Match.builder().id(104L).tournament(tournament).category(category)
+                .homeTeam(beta).awayTeam(alpha).startsAt(base.plusDays(3)).status(MatchStatus.FINISHED).build();
+        // El flush automático de la consulta ya ve el resultado nuevo (Beta 1-0 Alpha)
+        when(matchResultRepository.findScoresByTournamentIdAndCategoryIdAndStatus(1L, 2L, MatchStatus.FINISHED))
+                .thenReturn(List.of(
+                        score(10L, 20L, 3, 0, 101L, base),
+                        score(10L, 30L, 3, 2, 102L, base.plusDays(1)),
+                        score(20L, 30L, 5, 0, 103L, base.plusDays(2)),
+                        score(20L, 10L, 1, 0, 104L, base.plusDays(3))));
+
+        // Sin transacción activa el delta se aplica de inmediato
+        engine.applyResult(current, 1, 0, 1);
+
+        List<StandingsTable.Row> rows = engine.getTable(1L, 2L).snapshot();
+
+        // Alpha y Beta empatan en 6 pts, DG +3 y 6 GF; entre ellos 3 pts cada uno,
+        // pero Alpha gana la diferencia de goles directa (3-1)
+        assertThat(rows).extracting(StandingsTable.Row::getTeamId).containsExactly(10L, 20L, 30L);
+        assertThat(rows.get(0).getPoints()).isEqualTo(6);
+        assertThat(rows.get(1).getPoints()).isEqualTo(6);
+        assertThat(rows.get(1).getGoalsFor()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should not repeat the cold load once the table is in memory")
+    void testGetTable_ShouldLoadOnce() {
+        when(standingRepository.findByTournamentIdAndCategoryId(1L, 2L)).thenReturn(List.of());
+        when(matchResultRepository.findScoresByTournamentIdAndCategoryIdAndStatus(1L, 2L, MatchStatus.FINISHED))
+                .thenReturn(List.of());
+
+        StandingsTable first = engine.getTable(1L, 2L);
+        StandingsTable second = engine.getTable(1L, 2L);
+
+        assertThat(second).isSameAs(first);
+        verify(standingRepository, times(1)).findByTournamentIdAndCategoryId(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should replay results committed during a rebuild onto the new table without double counting")
+    void testReplace_WithConcurrentResults_ShouldReplayMissingDeltasOnly() {
+        when(standingRepository.findByTournamentIdAndCategoryId(1L, 2L)).thenReturn(List.of());
+        when(matchResultRepository.findScoresByTournamentIdAndCategoryIdAndStatus(1L, 2L, MatchStatus.FINISHED))
+                .thenReturn(List.of());
+        when(teamMapper.toSummaryDTO(any())).thenAnswer(inv -> {
+            Team team = inv.getArgument(0);
+            return TeamSummaryDTO.builder().id(team.getId()).name(team.getName()).build();
+        });
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 0);
+        Match first = Match.builder().id(101L).tournament(tournament).category(category)
+                .homeTeam(alpha).awayTeam(beta).startsAt(base).status(MatchStatus.FINISHED).build();
+        Match second = Match.builder().id(102L).tournament(tournament).category(category)
+                .homeTeam(alpha).awayTeam(gamma).startsAt(base.plusDays(1)).status(MatchStatus.FINISHED).build();
+        StandingsTable old = engine.getTable(1L, 2L);
+
+        StandingsEngine.Replacement replacement = engine.beginReplace(1L, 2L);
+        // Ambos se confirman durante el recálculo, pero la lectura solo alcanza a ver el primero
+        engine.applyResult(first, 2, 0, 1);
+        engine.applyResult(second, 1, 1, 1);
+        StandingsTable rebuilt = engine.fold(1L, 2L, Stream.of(
+                MatchResult.builder().matchId(101L).match(first).homeScore(2).awayScore(0).build()));
+        assertThat(engine.getTable(1L, 2L)).isSameAs(old);
+
+        engine.replace(replacement, rebuilt);
+
+        assertThat(engine.getTable(1L, 2L)).isSameAs(rebuilt);
+        List<StandingsTable.Row> rows = rebuilt.snapshot();
+        assertThat(rows).extracting(StandingsTable.Row::getTeamId).containsExactly(10L, 30L, 20L);
+        assertThat(rows.get(0).getPlayed()).isEqualTo(2);
+        assertThat(rows.get(0).getPoints()).isEqualTo(4);
+        assertThat(rows.get(1).getPoints()).isEqualTo(1);
+        assertThat(rows.get(2).getPlayed()).isEqualTo(1);
+    }
+
+    private Standing standing(Long id, Team team, int points, int played, int wins, int draws, int losses,
+                              int goalsFor, int goalsAgainst) {
+        return Standing.builder().id(id).tournament(tournament).category(category).team(team)
+                .points(points).played(played).wins(wins).draws(draws).losses(losses)
+                .goalsFor(goalsFor).goalsAgainst(goalsAgainst).build();
+    }
+
+    private static Object[] score(Long home, Long away, int homeScore, int awayScore, Long matchId,
+                                  LocalDateTime startsAt) {
+        return new Object[]{home, away, homeScore, awayScore, matchId, startsAt};
+    }
+}
@@ -0,0 +1,176 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.service.RecentForm;
+import co.edu.uptc.backend_tc.service.StandingsTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para StandingsTable
+ *
+ * Estas pruebas validan el orden y la aplicación de deltas de la tabla
+ * de posiciones en memoria.
+ */
+@DisplayName("StandingsTable Unit Tests")
+class StandingsTableTest {
+
+    private StandingsTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new StandingsTable(1L, 1L);
+        table.addTeamIfAbsent(10L, "Team Alpha", null);
+        table.addTeamIfAbsent(20L, "Team Beta", null);
+        table.addTeamIfAbsent(30L, "Team Gamma", null);
+        table.drainDirty();
+    }
+
+    @Test
+    @DisplayName("Should order teams by points, goal difference and goals for")
+    void testApplyResult_ShouldKeepTeamsOrdered() {
+        table.applyResult(10L, 20L, 1, 0, 1);   // Alpha 3 pts, GD +1
+        table.applyResult(30L, 20L, 3, 1, 1);   // Gamma 3 pts, GD +2
+
+        List<StandingsTable.Row> rows = table.snapshot();
+
+        assertThat(rows).extracting(StandingsTable.Row::getTeamId).containsExactly(30L, 10L, 20L);
+        assertThat(rows.get(0).getPoints()).isEqualTo(3);
+        assertThat(rows.get(2).getLosses()).isEqualTo(2);
+        assertThat(rows.get(2).getGoalsAgainst()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should restore previous stats when a result is reverted")
+    void testRevertResult_ShouldUndoDelta() {
+        table.applyResult(10L, 20L, 2, 2, 1);
+        table.applyResult(10L, 20L, 2, 2, -1);
+
+        List<StandingsTable.Row> rows = table.snapshot();
+
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.getPoints()).isZero();
+            assertThat(row.getPlayed()).isZero();
+            assertThat(row.getDraws()).isZero();
+            assertThat(row.getGoalsFor()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("Should never drop counters below zero when reverting")
+    void testRevertResult_WithoutPreviousResult_ShouldClampToZero() {
+        table.applyResult(10L, 20L, 1, 0, -1);
+
+        assertThat(table.snapshot()).allSatisfy(row -> {
+            assertThat(row.getPoints()).isZero();
+            assertThat(row.getWins()).isZero();
+            assertThat(row.getLosses()).isZero();
+        });
+    }
+
+    @Test
+    @DisplayName("Should report only modified rows as dirty and clear them once drained")
+    void testDrainDirty_ShouldReturnModifiedRowsOnce() {
+        table.applyResult(10L, 30L, 0, 1, 1);
+
+        List<StandingsTable.Row> dirty = table.drainDirty();
+
+        assertThat(dirty).extracting(StandingsTable.Row::getTeamId).containsExactlyInAnyOrder(10L, 30L);
+        assertThat(table.hasDirtyRows()).isFalse();
+        assertThat(table.drainDirty()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore results for teams that are not in the table")
+    void testApplyResult_WithUnknownTeam_ShouldBeIgnored() {
+        table.applyResult(10L, 99L, 5, 0, 1);
+
+        assertThat(table.snapshot()).allSatisfy(row -> assertThat(row.getPlayed()).isZero());
+        assertThat(table.hasDirtyRows()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accumulate pending deltas and restore them after a failed write")
+    void testDrainDirty_ShouldCarryPendingDeltas() {
+        table.applyResult(10L, 20L, 2, 1, 1);
+        table.applyResult(10L, 20L, 0, 0, 1);
+
+        List<StandingsTable.Row> dirty = table.drainDirty();
+        StandingsTable.Row alpha = dirty.stream().filter(r -> r.getTeamId().equals(10L)).findFirst().orElseThrow();
+
+        assertThat(alpha.getPointsDelta()).isEqualTo(4);
+        assertThat(alpha.getPlayedDelta()).isEqualTo(2);
+        assertThat(alpha.getGoalsForDelta()).isEqualTo(2);
+
+        table.restorePending(dirty);
+        table.applyResult(10L, 20L, 0, 0, -1);
+
+        StandingsTable.Row restored = table.drainDirty().stream()
+                .filter(r -> r.getTeamId().equals(10L)).findFirst().orElseThrow();
+        assertThat(restored.getPointsDelta()).isEqualTo(3);
+        assertThat(restored.getPlayedDelta()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should break full ties with the head-to-head mini table")
+    void testSnapshot_WithTiedTeams_ShouldUseHeadToHead() {
+        table.addTeamIfAbsent(40L, "Team Delta", null);
+        table.applyResult(30L, 10L, 1, 0, 1);   // Gamma gana el directo contra Alpha
+        table.applyResult(10L, 40L, 1, 0, 1);
+        table.applyResult(20L, 30L, 1, 0, 1);
+
+        // Alpha y Gamma: 3 pts, DG 0, GF 1 -> decide el enfrentamiento directo
+        List<StandingsTable.Row> rows = table.snapshot();
+
+        assertThat(rows).extracting(StandingsTable.Row::getTeamId).containsExactly(20L, 30L, 10L, 40L);
+        assertThat(table.snapshot()).isSameAs(rows);
+
+        table.applyResult(10L, 30L, 2, 0, 1);
+        assertThat(table.snapshot()).isNotSameAs(rows);
+    }
+
+    @Test
+    @DisplayName("Should keep the last five results in chronological order as form")
+    void testForm_ShouldTrackLastFiveResults() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 1, 14, 0);
+        for (long m = 1; m <= 6; m++) {
+            int homeScore = m % 2 == 0 ? 2 : 0;
+            table.applyResult(m, day.plusDays(m), 10L, 20L, homeScore, 1, 1);
+        }
+        table.applyResult(7L, day, 10L, 20L, 1, 1, 1);      // anterior a toda la ventana
+
+        assertThat(formOf(10L)).isEqualTo("WLWLW");
+        assertThat(formOf(20L)).isEqualTo("LWLWL");
+
+        // El empate del partido 7 vuelve a entrar al quitar el más reciente
+        table.applyResult(6L, day.plusDays(6), 10L, 20L, 2, 1, -1);
+        assertThat(formOf(10L)).isEqualTo("LWLWL");
+    }
+
+    @Test
+    @DisplayName("Should refill the form window when the newest result is deleted")
+    void testForm_WhenNewestResultIsDeleted_ShouldKeepFiveEntries() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 1, 14, 0);
+        for (long m = 1; m <= 6; m++) {
+            table.applyResult(m, day.plusDays(m), 10L, 20L, m == 1 ? 0 : 1, 0, 1);
+        }
+        assertThat(formOf(10L)).isEqualTo("WWWWW");
+
+        table.applyResult(6L, day.plusDays(6), 10L, 20L, 1, 0, -1);
+
+        assertThat(formOf(10L)).hasSize(RecentForm.LENGTH).isEqualTo("DWWWW");
+        assertThat(formOf(20L)).isEqualTo("DLLLL");
+    }
+
+    private String formOf(Long teamId) {
+        return table.snapshot().stream()
+                .filter(r -> r.getTeamId().equals(teamId))
+                .findFirst().orElseThrow()
+                .getForm();
+    }
+}
@@ -0,0 +1,43 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.service.StreamingSheetWriter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para StreamingSheetWriter
+ *
+ * Estas pruebas validan que las filas escritas en streaming se conservan
+ * y que el ancho de columna sale del texto más largo.
+ */
+@DisplayName("StreamingSheetWriter Unit Tests")
+class StreamingSheetWriterTest {
+
+    @Test
+    @DisplayName("Should stream rows beyond the window and size columns from tracked lengths")
+    void testWriteTo_WithManyRows_ShouldKeepRowsAndWidths() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingSheetWriter writer = new StreamingSheetWriter()) {
+            writer.startSheet("Datos", "ID", "Nombre");
+            for (int i = 1; i <= 250; i++) {
+                writer.row((long) i, i == 200 ? "Un nombre bastante largo" : "Equipo " + i);
+            }
+            writer.writeTo(out);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Datos");
+            assertThat(sheet.getLastRowNum()).isEqualTo(250);
+            assertThat(sheet.getRow(200).getCell(1).getStringCellValue()).isEqualTo("Un nombre bastante largo");
+            assertThat(sheet.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(1.0);
+            assertThat(sheet.getColumnWidth(1)).isEqualTo(("Un nombre bastante largo".length() + 2) * 256);
+        }
+    }
+}
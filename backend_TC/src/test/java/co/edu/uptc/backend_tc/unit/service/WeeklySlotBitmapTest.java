@@ -0,0 +1,49 @@
+package co.edu.uptc.backend_tc.unit.service;
+
+import co.edu.uptc.backend_tc.service.WeeklySlotBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit Tests para WeeklySlotBitmap
+ *
+ * Estas pruebas validan la intersección de disponibilidades y la búsqueda
+ * de huecos para partidos.
+ */
+@DisplayName("WeeklySlotBitmap Unit Tests")
+class WeeklySlotBitmapTest {
+
+    @Test
+    @DisplayName("Should find start times inside overlapping windows that fit a match")
+    void testCandidateStarts_WithOverlappingWindows_ShouldUseIntersection() {
+        WeeklySlotBitmap a = new WeeklySlotBitmap();
+        a.add(DayOfWeek.TUESDAY, LocalTime.of(11, 0), LocalTime.of(15, 0));
+        WeeklySlotBitmap b = new WeeklySlotBitmap();
+        b.add(DayOfWeek.TUESDAY, LocalTime.of(12, 0), LocalTime.of(16, 0));
+
+        var starts = a.and(b).candidateStarts(8, 4);
+
+        assertThat(starts).containsExactly(
+                new WeeklySlotBitmap.Slot(DayOfWeek.TUESDAY, LocalTime.of(12, 0)),
+                new WeeklySlotBitmap.Slot(DayOfWeek.TUESDAY, LocalTime.of(13, 0)));
+    }
+
+    @Test
+    @DisplayName("Should ignore windows shorter than a match and survive serialization")
+    void testCandidateStarts_WithShortWindow_ShouldBeEmpty() {
+        WeeklySlotBitmap bitmap = new WeeklySlotBitmap();
+        bitmap.add(DayOfWeek.FRIDAY, LocalTime.of(14, 10), LocalTime.of(16, 0));
+
+        WeeklySlotBitmap restored = WeeklySlotBitmap.fromBytes(bitmap.toBytes());
+
+        assertThat(restored.isEmpty()).isFalse();
+        assertThat(restored.candidateStarts(8, 4)).isEmpty();
+        assertThat(restored.candidateStarts(4, 4))
+                .containsExactly(new WeeklySlotBitmap.Slot(DayOfWeek.FRIDAY, LocalTime.of(14, 15)));
+    }
+}
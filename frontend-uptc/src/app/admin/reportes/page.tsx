@@ -71,18 +71,30 @@ export default function AdminReportesPage() {
       name: 'Reporte Consolidado (Multi-Torneo)', // Nombre cambiado
       description: 'Lista de jugadores inscritos en los torneos seleccionados', // Desc. cambiada
       requiresCategory: false, // Ya no requiere categoría
+      multiTournament: true,
       icon: '🗂️' // Ícono cambiado
     },
+    {
+      id: 'standings',
+      name: 'Tabla de Posiciones (Multi-Torneo)',
+      description: 'Clasificación por categoría de los torneos seleccionados',
+      requiresCategory: false,
+      multiTournament: true,
+      icon: '🏆'
+    },
     {
       id: 'inscriptions',
       name: 'Inscripciones (Por Torneo)', // Nombre ajustado para claridad
       description: 'Lista de equipos inscritos en un torneo',
       requiresCategory: false,
+      multiTournament: false,
       icon: '📋'
     }
   ];
   // --- FIN CAMBIO 2 ---
 
+  const isMultiTournament = reports.find(r => r.id === selectedReport)?.multiTournament ?? false;
+
   // --- CAMBIO 3: NUEVOS MANEJADORES ---
   
   // Manejador para los checkboxes de múltiple selección
@@ -131,10 +143,20 @@ export default function AdminReportesPage() {
             return;
           }
           // Llamamos a la función del service (que ahora acepta un array)
-          blob = await reportsService.generateStandingsExcel(selectedTournaments);
+          blob = await reportsService.generateParticipantsExcel(selectedTournaments);
           filename = `reporte_consolidado_torneos.xlsx`;
           break;
 
+        case 'standings':
+          if (selectedTournaments.length === 0) {
+            toastWarning('Selecciona al menos un torneo para este reporte');
+            setLoading(false);
+            return;
+          }
+          blob = await reportsService.generateStandingsExcel(selectedTournaments);
+          filename = `posiciones_torneos.xlsx`;
+          break;
+
         // ESTE CASO SE QUEDA IGUAL
         case 'inscriptions':
           if (!selectedTournament) {
@@ -221,8 +243,8 @@ export default function AdminReportesPage() {
 
         {/* --- CAMBIO 6: UI - Selectores condicionales --- */}
 
-        {/* 6.1: Mostrar CHECKBOXES si es el reporte 'multiTournament' */}
-        {selectedReport === 'multiTournament' && (
+        {/* 6.1: Mostrar CHECKBOXES en los reportes de varios torneos */}
+        {isMultiTournament && (
           <div className="mb-4">
             <label className="block text-gray-800 font-semibold mb-2">
               Seleccionar Torneos * (Puedes elegir varios)
@@ -247,8 +269,8 @@ export default function AdminReportesPage() {
           </div>
         )}
 
-        {/* 6.2: Mostrar <select> SIMPLE para otros reportes (que no sean 'multiTournament') */}
-        {selectedReport && selectedReport !== 'multiTournament' && (
+        {/* 6.2: Mostrar <select> SIMPLE para los reportes de un solo torneo */}
+        {selectedReport && !isMultiTournament && (
           <div className="mb-4">
             <label className="block text-gray-800 font-semibold mb-2">
               Seleccionar Torneo *
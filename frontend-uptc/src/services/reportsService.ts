@@ -1,31 +1,44 @@
 import api from "./api";
 
+// Construye /ruta?tournamentIds=1&tournamentIds=2&tournamentIds=3
+const tournamentParams = (tournamentIds: number[]): URLSearchParams => {
+  const params = new URLSearchParams();
+  tournamentIds.forEach(id => {
+    params.append('tournamentIds', id.toString());
+  });
+  return params;
+};
+
 const reportsService = {
-  // Generar reporte de tabla de posiciones en Excel
-  // --- MÉTODO MODIFICADO ---
   /**
-   * Genera un reporte consolidado de inscripciones para múltiples torneos.
+   * Genera un reporte consolidado de inscripciones (jugadores inscritos) para múltiples torneos.
    * @param tournamentIds Un array de IDs de torneos
    * @returns Un Blob con el archivo Excel
    */
-  generateStandingsExcel: async (tournamentIds: number[]): Promise<Blob> => {
+  generateParticipantsExcel: async (tournamentIds: number[]): Promise<Blob> => {
     try {
-      // 1. Usamos URLSearchParams para construir la URL
-      // Esto nos permite enviar parámetros de array como:
-      // /excel?tournamentIds=1&tournamentIds=2&tournamentIds=3
-      const params = new URLSearchParams();
-      tournamentIds.forEach(id => {
-        params.append('tournamentIds', id.toString());
+      const response = await api.get('/reports/participants/excel', {
+        params: tournamentParams(tournamentIds),
+        responseType: 'blob'
       });
+      return response.data;
+    } catch (error) {
+      console.error("Error al generar reporte consolidado:", error);
+      throw error;
+    }
+  },
 
-      // 2. Hacemos la llamada GET a la URL base y pasamos los params
-      const response = await api.get(
-        '/reports/standings/excel', // La ruta base (sin query string)
-        {
-          params: params, // 'api' (axios) adjuntará los params
-          responseType: 'blob'
-        }
-      );
+  /**
+   * Genera la tabla de posiciones en Excel: una hoja por torneo y categoría.
+   * @param tournamentIds Un array de IDs de torneos
+   * @returns Un Blob con el archivo Excel
+   */
+  generateStandingsExcel: async (tournamentIds: number[]): Promise<Blob> => {
+    try {
+      const response = await api.get('/reports/standings/excel', {
+        params: tournamentParams(tournamentIds),
+        responseType: 'blob'
+      });
       return response.data;
     } catch (error) {
       console.error("Error al generar reporte de standings:", error);